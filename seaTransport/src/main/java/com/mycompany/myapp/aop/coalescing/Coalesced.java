@@ -0,0 +1,27 @@
+package com.mycompany.myapp.aop.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent invocations with equal arguments share a single execution.
+ * <p>
+ * The first caller runs the method, while the others wait for its result, see {@link CoalescingAspect}. Each of them
+ * gets its own copy of the result, which must therefore be serializable, like the entities, a {@code Page} or an
+ * {@code Optional} of them. The result must not depend on the current user.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+    /**
+     * How long, in milliseconds, a caller waits for the result of the call in flight before running the method itself.
+     * A negative value uses {@code application.coalescing.timeout-ms}.
+     *
+     * @return the timeout in milliseconds.
+     */
+    long timeoutMs() default -1;
+}
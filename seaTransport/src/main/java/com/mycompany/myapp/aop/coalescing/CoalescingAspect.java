@@ -0,0 +1,225 @@
+package com.mycompany.myapp.aop.coalescing;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aspect sharing a single execution of {@link Coalesced} methods between concurrent callers with equal arguments.
+ * <p>
+ * It runs before the transaction interceptor, so that only the first caller opens a transaction and queries the
+ * database, but after the interceptor exposing the invocation, which binds the annotation. Callers already running in
+ * a transaction are never coalesced, as they may read their own uncommitted changes. A caller that waits longer than
+ * the timeout runs the method itself.
+ * <p>
+ * The waiting callers get their own copy of the result, deserialized from a snapshot taken by the first caller, so that
+ * none of them can modify the entities of another. A result which cannot be serialized is not shared: the waiting
+ * callers run the method themselves.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class CoalescingAspect {
+
+    private final Logger log = LoggerFactory.getLogger(CoalescingAspect.class);
+
+    private final ConcurrentMap<Call, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final ApplicationProperties.Coalescing properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public CoalescingAspect(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getCoalescing();
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("service.read.in.flight", Collections.emptyList(), inFlight);
+    }
+
+    /**
+     * Advice that runs a {@link Coalesced} method, or waits for the result of an identical call in flight.
+     *
+     * @param joinPoint join point for advice.
+     * @param coalesced the annotation of the method.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Call call = new Call(method, joinPoint.getArgs());
+        Flight flight = new Flight();
+        Flight leader = inFlight.putIfAbsent(call, flight);
+        if (leader == null) {
+            return lead(joinPoint, method, call, flight);
+        }
+        if (!leader.join()) {
+            // The first caller is already done with the result
+            return joinPoint.proceed();
+        }
+        return follow(joinPoint, method, leader, coalesced.timeoutMs() < 0 ? properties.getTimeoutMs() : coalesced.timeoutMs());
+    }
+
+    private Object lead(ProceedingJoinPoint joinPoint, Method method, Call call, Flight flight) throws Throwable {
+        try {
+            Object result = joinPoint.proceed();
+            if (flight.seal() > 0) {
+                flight.result.complete(snapshot(method, result));
+            }
+            return result;
+        } catch (Throwable t) {
+            flight.seal();
+            flight.result.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(call, flight);
+        }
+    }
+
+    private Object follow(ProceedingJoinPoint joinPoint, Method method, Flight leader, long timeoutMs) throws Throwable {
+        Snapshot snapshot;
+        try {
+            snapshot = leader.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            record(method, "shared");
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            log.debug("Timed out after {} ms waiting for {}(), running it again", timeoutMs, method.getName());
+            record(method, "timeout");
+            return joinPoint.proceed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + method.getName() + "()", e);
+        }
+        if (snapshot == null) {
+            record(method, "not-serializable");
+            return joinPoint.proceed();
+        }
+        record(method, "shared");
+        return snapshot.copy();
+    }
+
+    private Snapshot snapshot(Method method, Object result) {
+        Object value = result instanceof Optional ? ((Optional<?>) result).orElse(null) : result;
+        if (value != null && !(value instanceof Serializable)) {
+            log.warn("Could not share the result of {}(), as {} is not serializable", method.getName(), value.getClass());
+            return null;
+        }
+        try {
+            return new Snapshot(result instanceof Optional, SerializationUtils.serialize((Serializable) value));
+        } catch (SerializationException e) {
+            log.warn("Could not share the result of {}(): {}", method.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void record(Method method, String result) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        meterRegistry.counter("service.read.coalesced", "method", name, "result", result).increment();
+    }
+
+    /**
+     * A call in flight, with the number of callers waiting for its result.
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<Snapshot> result = new CompletableFuture<>();
+
+        private int followers;
+
+        private boolean sealed;
+
+        /**
+         * @return {@code false} if the result is already out, so that the caller must run the method itself.
+         */
+        private synchronized boolean join() {
+            if (sealed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        /**
+         * @return the number of callers waiting for the result, which no other caller can join anymore.
+         */
+        private synchronized int seal() {
+            sealed = true;
+            return followers;
+        }
+    }
+
+    /**
+     * The serialized result of a call, from which each waiting caller gets its own copy.
+     */
+    private static final class Snapshot {
+
+        private final boolean optional;
+
+        private final byte[] bytes;
+
+        private Snapshot(boolean optional, byte[] bytes) {
+            this.optional = optional;
+            this.bytes = bytes;
+        }
+
+        private Object copy() {
+            Object value = SerializationUtils.deserialize(bytes);
+            return optional ? Optional.ofNullable(value) : value;
+        }
+    }
+
+    private static final class Call {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        private final int hashCode;
+
+        private Call(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+            this.hashCode = 31 * method.hashCode() + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Call)) {
+                return false;
+            }
+            Call other = (Call) o;
+            return method.equals(other.method) && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.mycompany.myapp.aop.profiling;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Aspect timing the repository, service and Web REST methods of the application.
+ * <p>
+ * Unlike the {@link com.mycompany.myapp.aop.logging.LoggingAspect}, it never builds strings from arguments: a call
+ * is sampled with a thread-local random number, and a sampled call costs a map lookup and two reads of the clock.
+ * Durations are recorded into a Micrometer timer per method, named {@code method.duration}, whose lock-free
+ * HdrHistogram publishes the 99th percentile over the last few minutes. The timers are tagged with the bean type rather
+ * than with the class declaring the method, so that each repository has its own timers for the methods it inherits from
+ * Spring Data.
+ */
+@Aspect
+public class ProfilingAspect {
+
+    private static final double PERCENTILE = 0.99;
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final int sampleOneIn;
+
+    public ProfilingAspect(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.sampleOneIn = Math.max(1, applicationProperties.getProfiling().getSampleOneIn());
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut(
+        "within(com.mycompany.myapp.repository..*)" +
+        " || within(com.mycompany.myapp.service..*)" +
+        " || within(com.mycompany.myapp.web.rest..*)"
+    )
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a sample of the method calls.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object profile(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (sampleOneIn > 1 && ThreadLocalRandom.current().nextInt(sampleOneIn) != 0) {
+            return joinPoint.proceed();
+        }
+        Timer timer = timer(joinPoint.getThis().getClass(), ((MethodSignature) joinPoint.getSignature()).getMethod());
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Class<?> proxyClass, Method method) {
+        ConcurrentMap<Method, Timer> typeTimers = timers.get(proxyClass);
+        if (typeTimers == null) {
+            typeTimers = timers.computeIfAbsent(proxyClass, c -> new ConcurrentHashMap<>());
+        }
+        Timer timer = typeTimers.get(method);
+        if (timer == null) {
+            String typeName = typeName(proxyClass);
+            // Overloads share the same timer
+            timer =
+                typeTimers.computeIfAbsent(
+                    method,
+                    m ->
+                        Timer
+                            .builder("method.duration")
+                            .tags("class", typeName, "method", m.getName())
+                            .description("The duration of a sample of the calls to repository, service and Web REST methods")
+                            .publishPercentiles(PERCENTILE)
+                            .register(meterRegistry)
+                );
+        }
+        return timer;
+    }
+
+    /**
+     * Get the statistics of the slowest methods, ranked by their 99th percentile.
+     *
+     * @param limit the maximum number of methods.
+     * @return the statistics of the slowest methods.
+     */
+    public List<MethodStatistics> getSlowestMethods(int limit) {
+        Set<Timer> distinctTimers = Collections.newSetFromMap(new IdentityHashMap<>());
+        timers.values().forEach(typeTimers -> distinctTimers.addAll(typeTimers.values()));
+        List<MethodStatistics> result = new ArrayList<>();
+        for (Timer timer : distinctTimers) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            double p99 = 0;
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                if (percentile.percentile() == PERCENTILE) {
+                    p99 = percentile.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            result.add(
+                new MethodStatistics(
+                    timer.getId().getTag("class") + "." + timer.getId().getTag("method"),
+                    snapshot.count(),
+                    snapshot.count() * sampleOneIn,
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    p99
+                )
+            );
+        }
+        result.sort(Comparator.comparingDouble(MethodStatistics::getP99Ms).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * @return the simple name of the repository interface of the application implemented by a JDK proxy, or of the
+     * class of the bean.
+     */
+    private static String typeName(Class<?> proxyClass) {
+        if (Proxy.isProxyClass(proxyClass)) {
+            for (Class<?> type : proxyClass.getInterfaces()) {
+                if (type.getName().startsWith("com.mycompany.myapp.")) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(proxyClass).getSimpleName();
+    }
+
+    /**
+     * The durations of the sampled calls to a method, in milliseconds. The mean counts every sampled call, while the
+     * maximum and the percentile only count the last few minutes.
+     */
+    public static class MethodStatistics {
+
+        private final String method;
+
+        private final long sampledCalls;
+
+        private final long estimatedCalls;
+
+        private final double meanMs;
+
+        private final double maxMs;
+
+        private final double p99Ms;
+
+        MethodStatistics(String method, long sampledCalls, long estimatedCalls, double meanMs, double maxMs, double p99Ms) {
+            this.method = method;
+            this.sampledCalls = sampledCalls;
+            this.estimatedCalls = estimatedCalls;
+            this.meanMs = meanMs;
+            this.maxMs = maxMs;
+            this.p99Ms = p99Ms;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public long getSampledCalls() {
+            return sampledCalls;
+        }
+
+        public long getEstimatedCalls() {
+            return estimatedCalls;
+        }
+
+        public double getMeanMs() {
+            return meanMs;
+        }
+
+        public double getMaxMs() {
+            return maxMs;
+        }
+
+        public double getP99Ms() {
+            return p99Ms;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.mycompany.myapp.aop.profiling;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /management/profiling} : the slowest repository, service and Web REST methods, ranked by 99th percentile.
+ */
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private final ProfilingAspect profilingAspect;
+
+    private final ApplicationProperties.Profiling properties;
+
+    public ProfilingEndpoint(ProfilingAspect profilingAspect, ApplicationProperties applicationProperties) {
+        this.profilingAspect = profilingAspect;
+        this.properties = applicationProperties.getProfiling();
+    }
+
+    @ReadOperation
+    public List<ProfilingAspect.MethodStatistics> slowestMethods(@Nullable Integer limit) {
+        return profilingAspect.getSlowestMethods(limit != null ? limit : properties.getTopN());
+    }
+}
@@ -0,0 +1,42 @@
+package com.mycompany.myapp.aop.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a scheduled job which must run on a single instance at a time.
+ * <p>
+ * Each run takes a lock in the database, see {@link ClusterSingletonAspect}: the instances which do not get it skip
+ * that run.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClusterSingleton {
+    /**
+     * The name of the lock. By default, the simple name of the class followed by the name of the method.
+     *
+     * @return the name of the lock.
+     */
+    String name() default "";
+
+    /**
+     * How long, in milliseconds, the lock is held if the instance running the job does not release it, for instance
+     * because it crashed. It must be longer than the longest run of the job. A negative value uses
+     * {@code application.scheduler-lock.lock-at-most-for-ms}.
+     *
+     * @return the maximal duration in milliseconds.
+     */
+    long lockAtMostForMs() default -1;
+
+    /**
+     * How long, in milliseconds, the lock is held even if the job completes earlier, so that the instances whose clock
+     * is late skip the same run. A negative value uses {@code application.scheduler-lock.lock-at-least-for-ms}.
+     *
+     * @return the minimal duration in milliseconds.
+     */
+    long lockAtLeastForMs() default -1;
+}
@@ -0,0 +1,86 @@
+package com.mycompany.myapp.aop.scheduling;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.SchedulerLockService;
+import com.mycompany.myapp.service.SchedulerLockService.Lock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Optional;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect running {@link ClusterSingleton} jobs only when this instance gets their lock from the
+ * {@link SchedulerLockService}, and timing their runs.
+ * <p>
+ * It runs before the transaction interceptor, so that the lock is committed before the job starts and released after
+ * the job committed, but after the interceptor exposing the invocation, which binds the annotation.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ClusterSingletonAspect {
+
+    private final Logger log = LoggerFactory.getLogger(ClusterSingletonAspect.class);
+
+    private final SchedulerLockService schedulerLockService;
+
+    private final ApplicationProperties.SchedulerLock properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public ClusterSingletonAspect(
+        SchedulerLockService schedulerLockService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.schedulerLockService = schedulerLockService;
+        this.properties = applicationProperties.getSchedulerLock();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Advice that runs a {@link ClusterSingleton} job, unless it runs on another instance.
+     *
+     * @param joinPoint join point for advice.
+     * @param clusterSingleton the annotation of the method.
+     * @return result, or {@code null} if the job was skipped.
+     * @throws Throwable the exception thrown by the job.
+     */
+    @Around("@annotation(clusterSingleton)")
+    public Object runOnce(ProceedingJoinPoint joinPoint, ClusterSingleton clusterSingleton) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String name = clusterSingleton.name().isEmpty()
+            ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+            : clusterSingleton.name();
+        Duration lockAtMostFor = Duration.ofMillis(
+            clusterSingleton.lockAtMostForMs() < 0 ? properties.getLockAtMostForMs() : clusterSingleton.lockAtMostForMs()
+        );
+        Duration lockAtLeastFor = Duration.ofMillis(
+            clusterSingleton.lockAtLeastForMs() < 0 ? properties.getLockAtLeastForMs() : clusterSingleton.lockAtLeastForMs()
+        );
+        Optional<Lock> lock = schedulerLockService.tryLock(name, lockAtMostFor, lockAtLeastFor);
+        if (!lock.isPresent()) {
+            log.debug("Skipping {}, which runs on another instance", name);
+            meterRegistry.counter("scheduler.job.skipped", "job", name).increment();
+            return null;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "failure";
+        try {
+            Object value = joinPoint.proceed();
+            result = "success";
+            return value;
+        } finally {
+            sample.stop(meterRegistry.timer("scheduler.job.duration", "job", name, "result", result));
+            schedulerLockService.unlock(lock.get());
+        }
+    }
+}
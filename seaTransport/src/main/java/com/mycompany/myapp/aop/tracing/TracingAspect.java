@@ -0,0 +1,94 @@
+package com.mycompany.myapp.aop.tracing;
+
+import com.mycompany.myapp.config.tracing.Span;
+import com.mycompany.myapp.config.tracing.Tracer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Aspect recording the Web REST, service and repository methods of a traced request as spans of the {@link Tracer}.
+ * <p>
+ * Outside of a traced request, an advice costs a thread-local read.
+ */
+@Aspect
+public class TracingAspect {
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Pointcut that matches all Web REST endpoints.
+     */
+    @Pointcut("within(@org.springframework.web.bind.annotation.RestController *) && within(com.mycompany.myapp.web.rest..*)")
+    public void resourcePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all services.
+     */
+    @Pointcut("within(@org.springframework.stereotype.Service *) && within(com.mycompany.myapp.service..*)")
+    public void servicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring Data repositories, whose methods are mostly declared by Spring Data.
+     */
+    @Pointcut("this(org.springframework.data.repository.Repository)")
+    public void repositoryPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    @Around("resourcePointcut()")
+    public Object traceResource(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, Span.RESOURCE, joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("servicePointcut()")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, Span.SERVICE, joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("repositoryPointcut()")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isTracing()) {
+            return joinPoint.proceed();
+        }
+        String repositoryName = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), TracingAspect::repositoryName);
+        return trace(joinPoint, Span.REPOSITORY, repositoryName);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String kind, String typeName) throws Throwable {
+        if (!tracer.isTracing()) {
+            return joinPoint.proceed();
+        }
+        Span span = tracer.startSpan(kind, typeName + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            tracer.endSpan(span);
+        }
+    }
+
+    /**
+     * @return the simple name of the repository interface of the application implemented by a proxy.
+     */
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getName().startsWith("com.mycompany.myapp.")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
@@ -1,5 +1,8 @@
 package com.mycompany.myapp.config;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,1026 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final Security security = new Security();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final UserCleanup userCleanup = new UserCleanup();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private final SchedulerLock schedulerLock = new SchedulerLock();
+
+    private final Profiling profiling = new Profiling();
+
+    private final SqlStatistics sqlStatistics = new SqlStatistics();
+
+    private final FlightRecorder flightRecorder = new FlightRecorder();
+
+    private final ContinuousProfiling continuousProfiling = new ContinuousProfiling();
+
+    private final ConnectionMonitoring connectionMonitoring = new ConnectionMonitoring();
+
+    private final MetricsGovernor metricsGovernor = new MetricsGovernor();
+
+    private final Tracing tracing = new Tracing();
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public UserCleanup getUserCleanup() {
+        return userCleanup;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public SchedulerLock getSchedulerLock() {
+        return schedulerLock;
+    }
+
+    public Profiling getProfiling() {
+        return profiling;
+    }
+
+    public SqlStatistics getSqlStatistics() {
+        return sqlStatistics;
+    }
+
+    public FlightRecorder getFlightRecorder() {
+        return flightRecorder;
+    }
+
+    public ContinuousProfiling getContinuousProfiling() {
+        return continuousProfiling;
+    }
+
+    public ConnectionMonitoring getConnectionMonitoring() {
+        return connectionMonitoring;
+    }
+
+    public MetricsGovernor getMetricsGovernor() {
+        return metricsGovernor;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public static class Cache {
+
+        private final Metrics metrics = new Metrics();
+
+        public Metrics getMetrics() {
+            return metrics;
+        }
+
+        public static class Metrics {
+
+            private boolean enabled = true;
+
+            private boolean hibernateStatistics = false;
+
+            private int sampleSize = 20;
+
+            private long sampleIntervalMs = 60000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public boolean isHibernateStatistics() {
+                return hibernateStatistics;
+            }
+
+            public void setHibernateStatistics(boolean hibernateStatistics) {
+                this.hibernateStatistics = hibernateStatistics;
+            }
+
+            public int getSampleSize() {
+                return sampleSize;
+            }
+
+            public void setSampleSize(int sampleSize) {
+                this.sampleSize = sampleSize;
+            }
+
+            public long getSampleIntervalMs() {
+                return sampleIntervalMs;
+            }
+
+            public void setSampleIntervalMs(long sampleIntervalMs) {
+                this.sampleIntervalMs = sampleIntervalMs;
+            }
+        }
+    }
+
+    public static class Security {
+
+        private final PrincipalLookup principalLookup = new PrincipalLookup();
+
+        private final JwtCache jwtCache = new JwtCache();
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final TokenRevocation tokenRevocation = new TokenRevocation();
+
+        public PrincipalLookup getPrincipalLookup() {
+            return principalLookup;
+        }
+
+        public JwtCache getJwtCache() {
+            return jwtCache;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public TokenRevocation getTokenRevocation() {
+            return tokenRevocation;
+        }
+
+        public static class PrincipalLookup {
+
+            private long negativeCacheTimeToLiveSeconds = 60;
+
+            private long negativeCacheMaxEntries = 10000;
+
+            private final BloomFilter bloomFilter = new BloomFilter();
+
+            public long getNegativeCacheTimeToLiveSeconds() {
+                return negativeCacheTimeToLiveSeconds;
+            }
+
+            public void setNegativeCacheTimeToLiveSeconds(long negativeCacheTimeToLiveSeconds) {
+                this.negativeCacheTimeToLiveSeconds = negativeCacheTimeToLiveSeconds;
+            }
+
+            public long getNegativeCacheMaxEntries() {
+                return negativeCacheMaxEntries;
+            }
+
+            public void setNegativeCacheMaxEntries(long negativeCacheMaxEntries) {
+                this.negativeCacheMaxEntries = negativeCacheMaxEntries;
+            }
+
+            public BloomFilter getBloomFilter() {
+                return bloomFilter;
+            }
+
+            public static class BloomFilter {
+
+                private boolean enabled = false;
+
+                private long expectedInsertions = 100000;
+
+                private double falsePositiveProbability = 0.01;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public long getExpectedInsertions() {
+                    return expectedInsertions;
+                }
+
+                public void setExpectedInsertions(long expectedInsertions) {
+                    this.expectedInsertions = expectedInsertions;
+                }
+
+                public double getFalsePositiveProbability() {
+                    return falsePositiveProbability;
+                }
+
+                public void setFalsePositiveProbability(double falsePositiveProbability) {
+                    this.falsePositiveProbability = falsePositiveProbability;
+                }
+            }
+        }
+
+        public static class JwtCache {
+
+            private int maxEntries = 10000;
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+
+        public static class PasswordHashing {
+
+            private int threads = Runtime.getRuntime().availableProcessors();
+
+            private int queueCapacity = 64;
+
+            private long timeoutMs = 5000;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public long getTimeoutMs() {
+                return timeoutMs;
+            }
+
+            public void setTimeoutMs(long timeoutMs) {
+                this.timeoutMs = timeoutMs;
+            }
+        }
+
+        public static class TokenRevocation {
+
+            private long expectedRevocations = 10000;
+
+            private double falsePositiveProbability = 0.001;
+
+            private long synchronizationIntervalMs = 10000;
+
+            private long synchronizationOverlapSeconds = 60;
+
+            public long getExpectedRevocations() {
+                return expectedRevocations;
+            }
+
+            public void setExpectedRevocations(long expectedRevocations) {
+                this.expectedRevocations = expectedRevocations;
+            }
+
+            public double getFalsePositiveProbability() {
+                return falsePositiveProbability;
+            }
+
+            public void setFalsePositiveProbability(double falsePositiveProbability) {
+                this.falsePositiveProbability = falsePositiveProbability;
+            }
+
+            public long getSynchronizationIntervalMs() {
+                return synchronizationIntervalMs;
+            }
+
+            public void setSynchronizationIntervalMs(long synchronizationIntervalMs) {
+                this.synchronizationIntervalMs = synchronizationIntervalMs;
+            }
+
+            public long getSynchronizationOverlapSeconds() {
+                return synchronizationOverlapSeconds;
+            }
+
+            public void setSynchronizationOverlapSeconds(long synchronizationOverlapSeconds) {
+                this.synchronizationOverlapSeconds = synchronizationOverlapSeconds;
+            }
+        }
+    }
+
+    public static class ResponseCache {
+
+        private boolean enabled = false;
+
+        private int maxEntriesPerRegion = 256;
+
+        private int maxBodyBytes = 1024 * 1024;
+
+        private long timeToLiveSeconds = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntriesPerRegion() {
+            return maxEntriesPerRegion;
+        }
+
+        public void setMaxEntriesPerRegion(int maxEntriesPerRegion) {
+            this.maxEntriesPerRegion = maxEntriesPerRegion;
+        }
+
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+
+    public static class Coalescing {
+
+        private boolean enabled = false;
+
+        private long timeoutMs = 2000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+    }
+
+    public static class UserCleanup {
+
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class MailOutbox {
+
+        private long dispatchIntervalMs = 5000;
+
+        private int batchSize = 50;
+
+        private long messagesPerSecond = 20;
+
+        private int maxAttempts = 5;
+
+        private long initialBackoffMs = 60000;
+
+        private long claimTimeoutMs = 300000;
+
+        public long getDispatchIntervalMs() {
+            return dispatchIntervalMs;
+        }
+
+        public void setDispatchIntervalMs(long dispatchIntervalMs) {
+            this.dispatchIntervalMs = dispatchIntervalMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getMessagesPerSecond() {
+            return messagesPerSecond;
+        }
+
+        public void setMessagesPerSecond(long messagesPerSecond) {
+            this.messagesPerSecond = messagesPerSecond;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getClaimTimeoutMs() {
+            return claimTimeoutMs;
+        }
+
+        public void setClaimTimeoutMs(long claimTimeoutMs) {
+            this.claimTimeoutMs = claimTimeoutMs;
+        }
+    }
+
+    public static class RateLimit {
+
+        private boolean enabled = false;
+
+        private int bucketsPerRule = 65536;
+
+        private List<Rule> rules = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBucketsPerRule() {
+            return bucketsPerRule;
+        }
+
+        public void setBucketsPerRule(int bucketsPerRule) {
+            this.bucketsPerRule = bucketsPerRule;
+        }
+
+        public List<Rule> getRules() {
+            return rules;
+        }
+
+        public void setRules(List<Rule> rules) {
+            this.rules = rules;
+        }
+
+        public static class Rule {
+
+            private String pattern;
+
+            private double permitsPerSecond;
+
+            private int burst = 1;
+
+            public String getPattern() {
+                return pattern;
+            }
+
+            public void setPattern(String pattern) {
+                this.pattern = pattern;
+            }
+
+            public double getPermitsPerSecond() {
+                return permitsPerSecond;
+            }
+
+            public void setPermitsPerSecond(double permitsPerSecond) {
+                this.permitsPerSecond = permitsPerSecond;
+            }
+
+            public int getBurst() {
+                return burst;
+            }
+
+            public void setBurst(int burst) {
+                this.burst = burst;
+            }
+        }
+    }
+
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = false;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        private long windowMs = 500;
+
+        private double rttTolerance = 1.5;
+
+        private double smoothing = 0.2;
+
+        private int bulkPageSize = 200;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public int getBulkPageSize() {
+            return bulkPageSize;
+        }
+
+        public void setBulkPageSize(int bulkPageSize) {
+            this.bulkPageSize = bulkPageSize;
+        }
+    }
+
+    public static class SchedulerLock {
+
+        private boolean enabled = false;
+
+        private long lockAtMostForMs = 600000;
+
+        private long lockAtLeastForMs = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getLockAtMostForMs() {
+            return lockAtMostForMs;
+        }
+
+        public void setLockAtMostForMs(long lockAtMostForMs) {
+            this.lockAtMostForMs = lockAtMostForMs;
+        }
+
+        public long getLockAtLeastForMs() {
+            return lockAtLeastForMs;
+        }
+
+        public void setLockAtLeastForMs(long lockAtLeastForMs) {
+            this.lockAtLeastForMs = lockAtLeastForMs;
+        }
+    }
+
+    public static class Profiling {
+
+        private boolean enabled = false;
+
+        private int sampleOneIn = 1;
+
+        private int topN = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSampleOneIn() {
+            return sampleOneIn;
+        }
+
+        public void setSampleOneIn(int sampleOneIn) {
+            this.sampleOneIn = sampleOneIn;
+        }
+
+        public int getTopN() {
+            return topN;
+        }
+
+        public void setTopN(int topN) {
+            this.topN = topN;
+        }
+    }
+
+    public static class SqlStatistics {
+
+        private boolean enabled = false;
+
+        private long slowStatementThresholdMs = 500;
+
+        private int repeatedStatementThreshold = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getSlowStatementThresholdMs() {
+            return slowStatementThresholdMs;
+        }
+
+        public void setSlowStatementThresholdMs(long slowStatementThresholdMs) {
+            this.slowStatementThresholdMs = slowStatementThresholdMs;
+        }
+
+        public int getRepeatedStatementThreshold() {
+            return repeatedStatementThreshold;
+        }
+
+        public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+            this.repeatedStatementThreshold = repeatedStatementThreshold;
+        }
+    }
+
+    public static class FlightRecorder {
+
+        private boolean enabled = false;
+
+        private String settings = "default";
+
+        private long maxAgeSeconds = 900;
+
+        private long maxSizeBytes = 100 * 1024 * 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getSettings() {
+            return settings;
+        }
+
+        public void setSettings(String settings) {
+            this.settings = settings;
+        }
+
+        public long getMaxAgeSeconds() {
+            return maxAgeSeconds;
+        }
+
+        public void setMaxAgeSeconds(long maxAgeSeconds) {
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+
+        public long getMaxSizeBytes() {
+            return maxSizeBytes;
+        }
+
+        public void setMaxSizeBytes(long maxSizeBytes) {
+            this.maxSizeBytes = maxSizeBytes;
+        }
+    }
+
+    public static class ContinuousProfiling {
+
+        private boolean enabled = false;
+
+        private long windowMs = 60000;
+
+        private int windows = 15;
+
+        private int maxStacks = 2000;
+
+        private int maxFrames = 32;
+
+        private long cpuSamplePeriodMs = 20;
+
+        private int topN = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        public int getWindows() {
+            return windows;
+        }
+
+        public void setWindows(int windows) {
+            this.windows = windows;
+        }
+
+        public int getMaxStacks() {
+            return maxStacks;
+        }
+
+        public void setMaxStacks(int maxStacks) {
+            this.maxStacks = maxStacks;
+        }
+
+        public int getMaxFrames() {
+            return maxFrames;
+        }
+
+        public void setMaxFrames(int maxFrames) {
+            this.maxFrames = maxFrames;
+        }
+
+        public long getCpuSamplePeriodMs() {
+            return cpuSamplePeriodMs;
+        }
+
+        public void setCpuSamplePeriodMs(long cpuSamplePeriodMs) {
+            this.cpuSamplePeriodMs = cpuSamplePeriodMs;
+        }
+
+        public int getTopN() {
+            return topN;
+        }
+
+        public void setTopN(int topN) {
+            this.topN = topN;
+        }
+    }
+
+    public static class ConnectionMonitoring {
+
+        private boolean enabled = false;
+
+        private long leakThresholdMs = 10000;
+
+        private long leakCheckIntervalMs = 5000;
+
+        private int maxLeakReports = 50;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getLeakThresholdMs() {
+            return leakThresholdMs;
+        }
+
+        public void setLeakThresholdMs(long leakThresholdMs) {
+            this.leakThresholdMs = leakThresholdMs;
+        }
+
+        public long getLeakCheckIntervalMs() {
+            return leakCheckIntervalMs;
+        }
+
+        public void setLeakCheckIntervalMs(long leakCheckIntervalMs) {
+            this.leakCheckIntervalMs = leakCheckIntervalMs;
+        }
+
+        public int getMaxLeakReports() {
+            return maxLeakReports;
+        }
+
+        public void setMaxLeakReports(int maxLeakReports) {
+            this.maxLeakReports = maxLeakReports;
+        }
+    }
+
+    public static class MetricsGovernor {
+
+        private boolean enabled = false;
+
+        private int maxTagValues = 200;
+
+        private List<String> uriTags = new ArrayList<>(Arrays.asList("uri", "endpoint"));
+
+        private List<String> histogramMeters = new ArrayList<>(Arrays.asList("http.server.requests", "transaction.duration"));
+
+        private List<String> percentileMeters = new ArrayList<>(Arrays.asList("hikaricp.connections", "jvm.gc.pause"));
+
+        private List<Double> percentiles = new ArrayList<>(Arrays.asList(0.0, 0.5, 0.75, 0.95, 0.99, 1.0));
+
+        private int topN = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxTagValues() {
+            return maxTagValues;
+        }
+
+        public void setMaxTagValues(int maxTagValues) {
+            this.maxTagValues = maxTagValues;
+        }
+
+        public List<String> getUriTags() {
+            return uriTags;
+        }
+
+        public void setUriTags(List<String> uriTags) {
+            this.uriTags = uriTags;
+        }
+
+        public List<String> getHistogramMeters() {
+            return histogramMeters;
+        }
+
+        public void setHistogramMeters(List<String> histogramMeters) {
+            this.histogramMeters = histogramMeters;
+        }
+
+        public List<String> getPercentileMeters() {
+            return percentileMeters;
+        }
+
+        public void setPercentileMeters(List<String> percentileMeters) {
+            this.percentileMeters = percentileMeters;
+        }
+
+        public List<Double> getPercentiles() {
+            return percentiles;
+        }
+
+        public void setPercentiles(List<Double> percentiles) {
+            this.percentiles = percentiles;
+        }
+
+        public int getTopN() {
+            return topN;
+        }
+
+        public void setTopN(int topN) {
+            this.topN = topN;
+        }
+    }
+
+    public static class Tracing {
+
+        private boolean enabled = false;
+
+        private int sampleOneIn = 1;
+
+        private int capacity = 1000;
+
+        private int maxSpansPerTrace = 200;
+
+        private String file;
+
+        private int minutes = 5;
+
+        private int topN = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSampleOneIn() {
+            return sampleOneIn;
+        }
+
+        public void setSampleOneIn(int sampleOneIn) {
+            this.sampleOneIn = sampleOneIn;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getMaxSpansPerTrace() {
+            return maxSpansPerTrace;
+        }
+
+        public void setMaxSpansPerTrace(int maxSpansPerTrace) {
+            this.maxSpansPerTrace = maxSpansPerTrace;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public int getMinutes() {
+            return minutes;
+        }
+
+        public void setMinutes(int minutes) {
+            this.minutes = minutes;
+        }
+
+        public int getTopN() {
+            return topN;
+        }
+
+        public void setTopN(int topN) {
+            this.topN = topN;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.config.cache.CacheRegionMetrics;
+import com.mycompany.myapp.config.cache.CacheRegionsEndpoint;
+import com.mycompany.myapp.config.jfr.FlightRecorderCacheManager;
 import java.time.Duration;
 import org.ehcache.config.builders.*;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
@@ -25,8 +29,13 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> unknownUsersConfiguration;
+    private final ApplicationProperties.Cache.Metrics metricsProperties;
+    private final boolean flightRecorderEnabled;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.metricsProperties = applicationProperties.getCache().getMetrics();
+        this.flightRecorderEnabled = applicationProperties.getFlightRecorder().isEnabled();
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
         jcacheConfiguration =
@@ -36,11 +45,49 @@ public class CacheConfiguration {
                     .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                     .build()
             );
+
+        // Lookups of unknown principals are cached apart, so that a burst of them cannot evict the known users
+        ApplicationProperties.Security.PrincipalLookup principalLookup = applicationProperties.getSecurity().getPrincipalLookup();
+        unknownUsersConfiguration =
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(
+                        Object.class,
+                        Object.class,
+                        ResourcePoolsBuilder.heap(principalLookup.getNegativeCacheMaxEntries())
+                    )
+                    .withExpiry(
+                        ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(principalLookup.getNegativeCacheTimeToLiveSeconds()))
+                    )
+                    .build()
+            );
     }
 
     @Bean
     public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
-        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        return hibernateProperties -> {
+            // Second-level cache lookups are recorded as JDK Flight Recorder events
+            hibernateProperties.put(
+                ConfigSettings.CACHE_MANAGER,
+                flightRecorderEnabled ? FlightRecorderCacheManager.wrap(cacheManager) : cacheManager
+            );
+            if (metricsProperties.isEnabled() && metricsProperties.isHibernateStatistics()) {
+                // Exposes the second-level cache region statistics through the Hibernate metrics binder
+                hibernateProperties.put(org.hibernate.cfg.AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.cache.metrics", name = "enabled", matchIfMissing = true)
+    public CacheRegionMetrics cacheRegionMetrics(javax.cache.CacheManager cacheManager) {
+        return new CacheRegionMetrics(cacheManager, metricsProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.cache.metrics", name = "enabled", matchIfMissing = true)
+    public CacheRegionsEndpoint cacheRegionsEndpoint(CacheRegionMetrics cacheRegionMetrics) {
+        return new CacheRegionsEndpoint(cacheRegionMetrics);
     }
 
     @Bean
@@ -48,6 +95,8 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.mycompany.myapp.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.mycompany.myapp.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.mycompany.myapp.repository.UserRepository.UNKNOWN_USERS_CACHE, unknownUsersConfiguration);
+            createCache(cm, com.mycompany.myapp.service.UserService.ACCOUNTS_CACHE);
             createCache(cm, com.mycompany.myapp.domain.User.class.getName());
             createCache(cm, com.mycompany.myapp.domain.Authority.class.getName());
             createCache(cm, com.mycompany.myapp.domain.User.class.getName() + ".authorities");
@@ -62,11 +111,22 @@ public class CacheConfiguration {
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
+        }
+        if (metricsProperties.isEnabled()) {
+            cm.enableStatistics(cacheName, true);
         }
     }
 
@@ -0,0 +1,17 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.coalescing.CoalescingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class CoalescingAspectConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.coalescing", name = "enabled")
+    public CoalescingAspect coalescingAspect(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new CoalescingAspect(applicationProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.config.jfr.ContinuousProfiler;
+import com.mycompany.myapp.config.jfr.ContinuousProfilingEndpoint;
+import java.time.Clock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.continuous-profiling", name = "enabled")
+public class ContinuousProfilingConfiguration {
+
+    @Bean
+    public ContinuousProfiler continuousProfiler(ApplicationProperties applicationProperties, Clock clock) {
+        return new ContinuousProfiler(applicationProperties, clock);
+    }
+
+    @Bean
+    public ContinuousProfilingEndpoint continuousProfilingEndpoint(
+        ContinuousProfiler continuousProfiler,
+        ApplicationProperties applicationProperties
+    ) {
+        return new ContinuousProfilingEndpoint(continuousProfiler, applicationProperties);
+    }
+}
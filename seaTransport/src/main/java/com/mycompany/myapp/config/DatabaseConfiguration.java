@@ -1,11 +1,28 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.config.jdbc.ConnectionListener;
+import com.mycompany.myapp.config.jdbc.ConnectionMonitor;
+import com.mycompany.myapp.config.jdbc.ConnectionsEndpoint;
+import com.mycompany.myapp.config.jdbc.ListeningTransactionManager;
+import com.mycompany.myapp.config.jdbc.SqlStatementMetrics;
+import com.mycompany.myapp.config.jdbc.StatementListener;
+import com.mycompany.myapp.config.jdbc.StatementTimingDataSource;
+import com.mycompany.myapp.config.jdbc.TransactionListener;
+import com.mycompany.myapp.config.jdbc.TransactionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import tech.jhipster.config.JHipsterConstants;
 
@@ -13,4 +30,77 @@ import tech.jhipster.config.JHipsterConstants;
 @EnableJpaRepositories("com.mycompany.myapp.repository")
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.sql-statistics", name = "enabled")
+    public SqlStatementMetrics sqlStatementMetrics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new SqlStatementMetrics(applicationProperties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.connection-monitoring", name = "enabled")
+    public ConnectionMonitor connectionMonitor(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new ConnectionMonitor(applicationProperties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.connection-monitoring", name = "enabled")
+    public ConnectionsEndpoint connectionsEndpoint(ConnectionMonitor connectionMonitor) {
+        return new ConnectionsEndpoint(connectionMonitor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.connection-monitoring", name = "enabled")
+    public TransactionTimer transactionTimer(MeterRegistry meterRegistry) {
+        return new TransactionTimer(meterRegistry);
+    }
+
+    /**
+     * Wrap the data source, so that the execution of every statement is timed, for the SQL statistics and the traces,
+     * and so that the wait for every connection and the time it is held are recorded.
+     */
+    @Bean
+    @ConditionalOnExpression(
+        "${application.sql-statistics.enabled:false} or ${application.tracing.enabled:false} " +
+        "or ${application.connection-monitoring.enabled:false}"
+    )
+    public static BeanPostProcessor statementTimingDataSourcePostProcessor(
+        ObjectProvider<StatementListener> statementListeners,
+        ObjectProvider<ConnectionListener> connectionListeners
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(
+                        (DataSource) bean,
+                        () -> StatementListener.of(statementListeners.orderedStream().collect(Collectors.toList())),
+                        () -> ConnectionListener.of(connectionListeners.orderedStream().collect(Collectors.toList()))
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Wrap the transaction manager, so that every transaction is timed and recorded by the Flight Recorder.
+     */
+    @Bean
+    @ConditionalOnExpression("${application.flight-recorder.enabled:false} or ${application.connection-monitoring.enabled:false}")
+    public static BeanPostProcessor listeningTransactionManagerPostProcessor(ObjectProvider<TransactionListener> transactionListeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof PlatformTransactionManager && !(bean instanceof ListeningTransactionManager)) {
+                    return new ListeningTransactionManager(
+                        (PlatformTransactionManager) bean,
+                        () -> transactionListeners.orderedStream().collect(Collectors.toList())
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.config.jfr.FlightRecorderTransactionListener;
+import com.mycompany.myapp.config.jfr.FlightRecordingEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Emit the JDK Flight Recorder events of the application. The requests are recorded by the filter registered in
+ * {@link WebConfigurer}, and the second-level cache lookups by the cache manager given to Hibernate in
+ * {@link CacheConfiguration}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.flight-recorder", name = "enabled")
+public class FlightRecorderConfiguration {
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(ApplicationProperties applicationProperties) {
+        return new FlightRecordingEndpoint(applicationProperties);
+    }
+
+    /**
+     * Record the transaction boundaries, through the transaction manager wrapped in {@link DatabaseConfiguration}.
+     */
+    @Bean
+    public FlightRecorderTransactionListener flightRecorderTransactionListener() {
+        return new FlightRecorderTransactionListener();
+    }
+}
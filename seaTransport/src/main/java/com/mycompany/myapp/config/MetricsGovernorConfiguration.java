@@ -0,0 +1,61 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.config.metrics.MeterCardinalityGovernor;
+import com.mycompany.myapp.config.metrics.MetricsCardinalityEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
+import org.springframework.web.servlet.handler.AbstractUrlHandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.metrics-governor", name = "enabled")
+public class MetricsGovernorConfiguration {
+
+    /**
+     * Ordered last, so that its distribution statistics override the {@code management.metrics.distribution} ones.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public MeterCardinalityGovernor meterCardinalityGovernor(ApplicationProperties applicationProperties) {
+        return new MeterCardinalityGovernor(applicationProperties);
+    }
+
+    @Bean
+    public MetricsCardinalityEndpoint metricsCardinalityEndpoint(
+        MeterRegistry meterRegistry,
+        MeterCardinalityGovernor meterCardinalityGovernor,
+        ApplicationProperties applicationProperties
+    ) {
+        return new MetricsCardinalityEndpoint(meterRegistry, meterCardinalityGovernor, applicationProperties);
+    }
+
+    /**
+     * Give the URI templates of every endpoint, including the management ones, to the governor.
+     */
+    @EventListener
+    public void collectKnownUris(ApplicationReadyEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        Set<String> knownUris = new HashSet<>();
+        for (AbstractHandlerMethodMapping<?> mapping : context.getBeansOfType(AbstractHandlerMethodMapping.class).values()) {
+            for (Object info : mapping.getHandlerMethods().keySet()) {
+                if (info instanceof RequestMappingInfo) {
+                    knownUris.addAll(((RequestMappingInfo) info).getPatternValues());
+                }
+            }
+        }
+        for (AbstractUrlHandlerMapping mapping : context.getBeansOfType(AbstractUrlHandlerMapping.class).values()) {
+            knownUris.addAll(mapping.getHandlerMap().keySet());
+        }
+        context.getBean(MeterCardinalityGovernor.class).setKnownUris(knownUris);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.profiling.ProfilingAspect;
+import com.mycompany.myapp.aop.profiling.ProfilingEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.profiling", name = "enabled")
+public class ProfilingAspectConfiguration {
+
+    @Bean
+    public ProfilingAspect profilingAspect(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new ProfilingAspect(applicationProperties, meterRegistry);
+    }
+
+    @Bean
+    public ProfilingEndpoint profilingEndpoint(ProfilingAspect profilingAspect, ApplicationProperties applicationProperties) {
+        return new ProfilingEndpoint(profilingAspect, applicationProperties);
+    }
+}
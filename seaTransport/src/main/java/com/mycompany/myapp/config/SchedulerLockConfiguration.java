@@ -0,0 +1,22 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.scheduling.ClusterSingletonAspect;
+import com.mycompany.myapp.service.SchedulerLockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class SchedulerLockConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.scheduler-lock", name = "enabled")
+    public ClusterSingletonAspect clusterSingletonAspect(
+        SchedulerLockService schedulerLockService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new ClusterSingletonAspect(schedulerLockService, applicationProperties, meterRegistry);
+    }
+}
@@ -2,6 +2,9 @@ package com.mycompany.myapp.config;
 
 import com.mycompany.myapp.security.*;
 import com.mycompany.myapp.security.jwt.*;
+import com.mycompany.myapp.web.filter.RateLimitFilter;
+import com.mycompany.myapp.web.filter.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -28,16 +31,32 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final TokenProvider tokenProvider;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
     private final CorsFilter corsFilter;
     private final SecurityProblemSupport problemSupport;
 
     public SecurityConfiguration(
         TokenProvider tokenProvider,
+        VerifiedTokenCache verifiedTokenCache,
+        TokenRevocationStore tokenRevocationStore,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
         CorsFilter corsFilter,
         JHipsterProperties jHipsterProperties,
         SecurityProblemSupport problemSupport
     ) {
         this.tokenProvider = tokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
         this.corsFilter = corsFilter;
         this.problemSupport = problemSupport;
         this.jHipsterProperties = jHipsterProperties;
@@ -45,7 +64,11 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(),
+            applicationProperties.getSecurity().getPasswordHashing(),
+            meterRegistry
+        );
     }
 
     @Override
@@ -105,6 +128,17 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     }
 
     private JWTConfigurer securityConfigurerAdapter() {
-        return new JWTConfigurer(tokenProvider);
+        return new JWTConfigurer(tokenProvider, verifiedTokenCache, tokenRevocationStore, rateLimitFilter());
+    }
+
+    /**
+     * The rate limiting filter is not a bean, so that it only runs in the security filter chain.
+     */
+    private RateLimitFilter rateLimitFilter() {
+        ApplicationProperties.RateLimit rateLimit = applicationProperties.getRateLimit();
+        if (!rateLimit.isEnabled()) {
+            return null;
+        }
+        return new RateLimitFilter(new RateLimiter(rateLimit, meterRegistry));
     }
 }
@@ -0,0 +1,52 @@
+package com.mycompany.myapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.aop.tracing.TracingAspect;
+import com.mycompany.myapp.config.tracing.TraceStore;
+import com.mycompany.myapp.config.tracing.Tracer;
+import com.mycompany.myapp.config.tracing.TracesEndpoint;
+import com.mycompany.myapp.config.tracing.TracingStatementListener;
+import com.mycompany.myapp.config.tracing.TracingTaskDecorator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+
+/**
+ * Trace the requests in process. The requests are traced by the filter registered in {@link WebConfigurer}, the
+ * statements through the data source wrapped in {@link DatabaseConfiguration}, and the async tasks by the decorator
+ * of the executor of {@link AsyncConfiguration}.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.tracing", name = "enabled")
+public class TracingConfiguration {
+
+    @Bean
+    public TraceStore traceStore(ApplicationProperties applicationProperties, ObjectMapper objectMapper) {
+        return new TraceStore(applicationProperties, objectMapper);
+    }
+
+    @Bean
+    public Tracer tracer(ApplicationProperties applicationProperties, TraceStore traceStore) {
+        return new Tracer(applicationProperties, traceStore);
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    @Bean
+    public TracingStatementListener tracingStatementListener(Tracer tracer) {
+        return new TracingStatementListener(tracer);
+    }
+
+    @Bean
+    public TracingTaskDecorator tracingTaskDecorator(Tracer tracer) {
+        return new TracingTaskDecorator(tracer);
+    }
+
+    @Bean
+    public TracesEndpoint tracesEndpoint(TraceStore traceStore, ApplicationProperties applicationProperties) {
+        return new TracesEndpoint(traceStore, applicationProperties);
+    }
+}
@@ -2,6 +2,15 @@ package com.mycompany.myapp.config;
 
 import static java.net.URLDecoder.decode;
 
+import com.mycompany.myapp.config.jdbc.SqlStatementMetrics;
+import com.mycompany.myapp.config.tracing.Tracer;
+import com.mycompany.myapp.service.ResponseCacheService;
+import com.mycompany.myapp.web.filter.ConcurrencyLimitFilter;
+import com.mycompany.myapp.web.filter.FlightRecorderFilter;
+import com.mycompany.myapp.web.filter.ResponseCacheFilter;
+import com.mycompany.myapp.web.filter.SqlStatementFilter;
+import com.mycompany.myapp.web.filter.TracingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
@@ -10,7 +19,10 @@ import java.util.*;
 import javax.servlet.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.boot.web.server.*;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
@@ -106,4 +118,79 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
         }
         return new CorsFilter(source);
     }
+
+    /**
+     * Serve the read-mostly list endpoints from the response cache. The filter is registered with the lowest
+     * precedence, after the Spring Security filter chain, as its keys depend on the authorities of the current user.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.response-cache", name = "enabled")
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCacheService responseCacheService) {
+        Map<String, String> regionsByPath = new HashMap<>();
+        regionsByPath.put("/api/statuses", ResponseCacheService.STATUSES);
+        regionsByPath.put("/api/transports", ResponseCacheService.TRANSPORTS);
+        regionsByPath.put("/api/ports", ResponseCacheService.PORTS);
+        regionsByPath.put("/api/orders", ResponseCacheService.ORDERS);
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+            new ResponseCacheFilter(responseCacheService, regionsByPath)
+        );
+        registration.addUrlPatterns(regionsByPath.keySet().toArray(new String[0]));
+        return registration;
+    }
+
+    /**
+     * Shed the REST requests beyond the adaptive concurrency limits. The filter is registered before the Spring
+     * Security filter chain, so that shed requests cost as little as possible.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.concurrency-limit", name = "enabled")
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+            new ConcurrencyLimitFilter(applicationProperties.getConcurrencyLimit(), meterRegistry)
+        );
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * Count the SQL statements run by each REST request. The filter is registered before the Spring Security filter
+     * chain, so that the statements loading the current user are counted too.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.sql-statistics", name = "enabled")
+    public FilterRegistrationBean<SqlStatementFilter> sqlStatementFilter(SqlStatementMetrics sqlStatementMetrics) {
+        FilterRegistrationBean<SqlStatementFilter> registration = new FilterRegistrationBean<>(new SqlStatementFilter(sqlStatementMetrics));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+
+    /**
+     * Record the REST requests as JDK Flight Recorder events. The filter is registered first, so that the recorded
+     * duration includes the other filters.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.flight-recorder", name = "enabled")
+    public FilterRegistrationBean<FlightRecorderFilter> flightRecorderFilter() {
+        FilterRegistrationBean<FlightRecorderFilter> registration = new FilterRegistrationBean<>(new FlightRecorderFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 3);
+        return registration;
+    }
+
+    /**
+     * Trace the REST requests. The filter is registered first, so that the traces include the other filters.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.tracing", name = "enabled")
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 4);
+        return registration;
+    }
 }
@@ -0,0 +1,299 @@
+package com.mycompany.myapp.config.cache;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Binds every JCache region of the application {@link CacheManager} to Micrometer.
+ * <p>
+ * Hit, miss, put, eviction and removal counts are read from the standard JSR-107 statistics MBeans, so statistics
+ * must be enabled on each cache (see {@link com.mycompany.myapp.config.CacheConfiguration}). Entry count and memory
+ * footprint are not provided by JSR-107: they are estimated by a periodic sampler, which walks each region once and
+ * serializes a bounded number of entries to extrapolate the region size in bytes.
+ */
+public class CacheRegionMetrics implements MeterBinder {
+
+    private static final String JSR107_STATISTICS_DOMAIN = "javax.cache:type=CacheStatistics";
+
+    private final Logger log = LoggerFactory.getLogger(CacheRegionMetrics.class);
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationProperties.Cache.Metrics properties;
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    private final Map<String, RegionSample> samples = new ConcurrentHashMap<>();
+
+    public CacheRegionMetrics(CacheManager cacheManager, ApplicationProperties.Cache.Metrics properties) {
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : cacheManager.getCacheNames()) {
+            ObjectName statistics = statisticsObjectName(region);
+            FunctionCounter
+                .builder("cache.region.gets", this, m -> m.readStatistic(statistics, "CacheHits"))
+                .tags("region", region, "result", "hit")
+                .description("The number of cache lookups that found an entry")
+                .register(registry);
+            FunctionCounter
+                .builder("cache.region.gets", this, m -> m.readStatistic(statistics, "CacheMisses"))
+                .tags("region", region, "result", "miss")
+                .description("The number of cache lookups that did not find an entry")
+                .register(registry);
+            FunctionCounter
+                .builder("cache.region.puts", this, m -> m.readStatistic(statistics, "CachePuts"))
+                .tags("region", region)
+                .description("The number of entries added to the cache")
+                .register(registry);
+            FunctionCounter
+                .builder("cache.region.evictions", this, m -> m.readStatistic(statistics, "CacheEvictions"))
+                .tags("region", region)
+                .description("The number of entries evicted because the region was full")
+                .register(registry);
+            FunctionCounter
+                .builder("cache.region.removals", this, m -> m.readStatistic(statistics, "CacheRemovals"))
+                .tags("region", region)
+                .description("The number of entries explicitly removed from the cache")
+                .register(registry);
+            Gauge
+                .builder("cache.region.size", this, m -> m.sample(region).entries)
+                .tags("region", region)
+                .description("The number of entries in the region, as of the last sample")
+                .register(registry);
+            Gauge
+                .builder("cache.region.memory", this, m -> m.sample(region).estimatedBytes)
+                .tags("region", region)
+                .description("The estimated serialized size of the region, as of the last sample")
+                .baseUnit("bytes")
+                .register(registry);
+        }
+    }
+
+    /**
+     * Walk every region, counting its entries and serializing a sample of them to estimate its memory footprint.
+     */
+    @Scheduled(initialDelay = 10000, fixedDelayString = "${application.cache.metrics.sample-interval-ms:60000}")
+    public void sampleRegions() {
+        for (String region : cacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            if (cache != null) {
+                samples.put(region, sampleRegion(cache));
+            }
+        }
+    }
+
+    /**
+     * Get the current statistics of every region, the regions with the most expensive misses first.
+     *
+     * @return the statistics of every region.
+     */
+    public List<RegionStatistics> getRegionStatistics() {
+        List<RegionStatistics> result = new ArrayList<>();
+        for (String region : cacheManager.getCacheNames()) {
+            ObjectName statistics = statisticsObjectName(region);
+            RegionSample sample = sample(region);
+            result.add(
+                new RegionStatistics(
+                    region,
+                    (long) readStatistic(statistics, "CacheHits"),
+                    (long) readStatistic(statistics, "CacheMisses"),
+                    (long) readStatistic(statistics, "CachePuts"),
+                    (long) readStatistic(statistics, "CacheEvictions"),
+                    sample.entries,
+                    sample.estimatedBytes
+                )
+            );
+        }
+        result.sort(Comparator.comparingDouble(RegionStatistics::getMissCost).reversed());
+        return result;
+    }
+
+    private RegionSample sample(String region) {
+        return samples.getOrDefault(region, RegionSample.EMPTY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RegionSample sampleRegion(Cache<Object, Object> cache) {
+        // Iterate the underlying Ehcache rather than the JSR-107 facade: the latter counts every iterated entry as a hit.
+        org.ehcache.Cache<Object, Object> ehcache = cache.unwrap(org.ehcache.Cache.class);
+        CountingOutputStream counter = new CountingOutputStream();
+        long count = 0;
+        long sampled = 0;
+        for (org.ehcache.Cache.Entry<Object, Object> entry : ehcache) {
+            count++;
+            if (sampled < properties.getSampleSize()) {
+                try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+                    out.writeObject(entry.getKey());
+                    out.writeObject(entry.getValue());
+                    sampled++;
+                } catch (IOException e) {
+                    log.trace("Could not serialize an entry of cache region {}", cache.getName(), e);
+                }
+            }
+        }
+        long estimatedBytes = sampled == 0 ? 0 : counter.getCount() * count / sampled;
+        return new RegionSample(count, estimatedBytes);
+    }
+
+    private double readStatistic(ObjectName statistics, String attribute) {
+        if (statistics == null) {
+            return Double.NaN;
+        }
+        try {
+            return ((Number) mBeanServer.getAttribute(statistics, attribute)).doubleValue();
+        } catch (Exception e) {
+            // Statistics are not enabled for this region
+            return Double.NaN;
+        }
+    }
+
+    private ObjectName statisticsObjectName(String region) {
+        try {
+            return new ObjectName(
+                JSR107_STATISTICS_DOMAIN +
+                ",CacheManager=" +
+                sanitize(cacheManager.getURI().toString()) +
+                ",Cache=" +
+                sanitize(region)
+            );
+        } catch (MalformedObjectNameException e) {
+            log.warn("Could not build the statistics object name of cache region {}", region);
+            return null;
+        }
+    }
+
+    private static String sanitize(String string) {
+        return string == null ? "" : string.replaceAll("[,:=\n]", ".");
+    }
+
+    private static final class RegionSample {
+
+        private static final RegionSample EMPTY = new RegionSample(0, 0);
+
+        private final long entries;
+
+        private final long estimatedBytes;
+
+        private RegionSample(long entries, long estimatedBytes) {
+            this.entries = entries;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Statistics of a single cache region, as reported by the {@code cacheregions} management endpoint.
+     */
+    public static class RegionStatistics {
+
+        private final String region;
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long puts;
+
+        private final long evictions;
+
+        private final long entries;
+
+        private final long estimatedBytes;
+
+        RegionStatistics(String region, long hits, long misses, long puts, long evictions, long entries, long estimatedBytes) {
+            this.region = region;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getEntries() {
+            return entries;
+        }
+
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+
+        public double getHitRatio() {
+            long gets = hits + misses;
+            return gets == 0 ? 0 : (double) hits / gets;
+        }
+
+        /**
+         * Each miss is a database round-trip. Misses caused by capacity evictions are the ones a larger region would
+         * save, so they are weighted by the share of puts that ended up evicted.
+         *
+         * @return the miss cost used to rank regions.
+         */
+        public double getMissCost() {
+            double evictionPressure = puts == 0 ? 0 : Math.min(1, (double) evictions / puts);
+            return misses * (1 + evictionPressure);
+        }
+    }
+}
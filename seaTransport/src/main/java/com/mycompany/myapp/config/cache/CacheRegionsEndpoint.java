@@ -0,0 +1,23 @@
+package com.mycompany.myapp.config.cache;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /management/cacheregions} : statistics of every cache region, ranked by miss cost.
+ */
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    private final CacheRegionMetrics cacheRegionMetrics;
+
+    public CacheRegionsEndpoint(CacheRegionMetrics cacheRegionMetrics) {
+        this.cacheRegionMetrics = cacheRegionMetrics;
+    }
+
+    @ReadOperation
+    public List<CacheRegionMetrics.RegionStatistics> regions() {
+        return cacheRegionMetrics.getRegionStatistics();
+    }
+}
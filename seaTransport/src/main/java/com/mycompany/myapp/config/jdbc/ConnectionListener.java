@@ -0,0 +1,40 @@
+package com.mycompany.myapp.config.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listens to the connections leased through the {@link StatementTimingDataSource}.
+ */
+@FunctionalInterface
+public interface ConnectionListener {
+    Runnable NO_RELEASE = () -> {};
+
+    /**
+     * Record the lease of a connection.
+     *
+     * @param waitNanos the time waited for the connection, in nanoseconds.
+     * @return the action to run when the connection is closed.
+     */
+    Runnable acquired(long waitNanos);
+
+    /**
+     * @return a listener notifying every listener, in order.
+     */
+    static ConnectionListener of(List<? extends ConnectionListener> listeners) {
+        if (listeners.isEmpty()) {
+            return waitNanos -> NO_RELEASE;
+        }
+        if (listeners.size() == 1) {
+            return listeners.get(0);
+        }
+        List<ConnectionListener> copy = new ArrayList<>(listeners);
+        return waitNanos -> {
+            List<Runnable> releases = new ArrayList<>(copy.size());
+            for (ConnectionListener listener : copy) {
+                releases.add(listener.acquired(waitNanos));
+            }
+            return () -> releases.forEach(Runnable::run);
+        };
+    }
+}
@@ -0,0 +1,264 @@
+package com.mycompany.myapp.config.jdbc;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tracks the connections leased through the {@link StatementTimingDataSource}.
+ * <p>
+ * The time waited for a connection and the time it is held are recorded by endpoint, the URI template of the current
+ * request. The hold time is also recorded by service, the outermost service method on the stack when the connection
+ * was leased, in a timer without histogram, so that the service does not multiply the histograms by endpoint. A
+ * connection held longer than the leak threshold is reported once, with the current stack of the thread holding it,
+ * which shows what the connection is held for.
+ */
+public class ConnectionMonitor implements ConnectionListener {
+
+    private static final String NONE = "none";
+
+    private static final String SERVICE_PACKAGE = "com.mycompany.myapp.service.";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final Logger log = LoggerFactory.getLogger(ConnectionMonitor.class);
+
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+
+    private final Deque<LeakReport> leaks = new ArrayDeque<>();
+
+    private final ApplicationProperties.ConnectionMonitoring properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionMonitor(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getConnectionMonitoring();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record a connection lease.
+     *
+     * @param waitNanos the time waited for the connection.
+     * @return the lease, to be given back to {@link #release(Lease)} when the connection is closed.
+     */
+    public Lease acquire(long waitNanos) {
+        Lease lease = new Lease(Thread.currentThread(), currentEndpoint(), currentService(), System.nanoTime(), Instant.now());
+        timer("jdbc.connections.wait", "Time waited for a connection from the pool", lease).record(waitNanos, TimeUnit.NANOSECONDS);
+        leases.add(lease);
+        return lease;
+    }
+
+    @Override
+    public Runnable acquired(long waitNanos) {
+        Lease lease = acquire(waitNanos);
+        return () -> release(lease);
+    }
+
+    /**
+     * Record the end of a connection lease. Releasing a lease again has no effect.
+     */
+    public void release(Lease lease) {
+        if (leases.remove(lease)) {
+            long heldNanos = System.nanoTime() - lease.startNanos;
+            timer("jdbc.connections.hold", "Time a connection was held before being closed", lease).record(heldNanos, TimeUnit.NANOSECONDS);
+            Timer
+                .builder("jdbc.connections.hold.by.service")
+                .description("Time a connection was held before being closed, by service method")
+                .tag("service", lease.service)
+                .register(meterRegistry)
+                .record(heldNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.connection-monitoring.leak-check-interval-ms:5000}",
+        fixedDelayString = "${application.connection-monitoring.leak-check-interval-ms:5000}"
+    )
+    public void detectLeaks() {
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getLeakThresholdMs());
+        long now = System.nanoTime();
+        for (Lease lease : leases) {
+            if (!lease.reported && now - lease.startNanos >= thresholdNanos) {
+                lease.reported = true;
+                LeakReport report = new LeakReport(lease, now);
+                log.warn(
+                    "Connection held for {} ms by {} ({} {}), currently at:\n\t{}",
+                    report.getHeldMs(),
+                    report.getThread(),
+                    report.getEndpoint(),
+                    report.getService(),
+                    String.join("\n\t", report.getStack())
+                );
+                Counter
+                    .builder("jdbc.connections.leaks")
+                    .description("The connections held longer than the leak threshold")
+                    .tag("endpoint", lease.endpoint)
+                    .register(meterRegistry)
+                    .increment();
+                synchronized (leaks) {
+                    leaks.addFirst(report);
+                    while (leaks.size() > properties.getMaxLeakReports()) {
+                        leaks.removeLast();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the connections currently leased, the longest held first.
+     */
+    public List<LeaseStatistics> getLeases() {
+        long now = System.nanoTime();
+        return leases
+            .stream()
+            .map(lease -> new LeaseStatistics(lease, now))
+            .sorted(Comparator.comparingLong(LeaseStatistics::getHeldMs).reversed())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the last leaks reported, the most recent first.
+     */
+    public List<LeakReport> getLeaks() {
+        synchronized (leaks) {
+            return new ArrayList<>(leaks);
+        }
+    }
+
+    private Timer timer(String name, String description, Lease lease) {
+        return Timer
+            .builder(name)
+            .description(description)
+            .tag("endpoint", lease.endpoint)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object endpoint = attributes != null
+            ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+            : null;
+        return endpoint != null ? endpoint.toString() : NONE;
+    }
+
+    /**
+     * @return the outermost method of a service on the stack, as {@code Class.method}, skipping the proxies.
+     */
+    private static String currentService() {
+        return STACK_WALKER.walk(
+            frames ->
+                frames
+                    .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE) && !frame.getClassName().contains("$$"))
+                    .reduce((inner, outer) -> outer)
+                    .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                    .orElse(NONE)
+        );
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    public static final class Lease {
+
+        private final Thread thread;
+
+        private final String endpoint;
+
+        private final String service;
+
+        private final long startNanos;
+
+        private final Instant leasedAt;
+
+        private volatile boolean reported;
+
+        private Lease(Thread thread, String endpoint, String service, long startNanos, Instant leasedAt) {
+            this.thread = thread;
+            this.endpoint = endpoint;
+            this.service = service;
+            this.startNanos = startNanos;
+            this.leasedAt = leasedAt;
+        }
+    }
+
+    public static class LeaseStatistics {
+
+        private final String thread;
+
+        private final String endpoint;
+
+        private final String service;
+
+        private final Instant leasedAt;
+
+        private final long heldMs;
+
+        LeaseStatistics(Lease lease, long nowNanos) {
+            this.thread = lease.thread.getName();
+            this.endpoint = lease.endpoint;
+            this.service = lease.service;
+            this.leasedAt = lease.leasedAt;
+            this.heldMs = Duration.ofNanos(nowNanos - lease.startNanos).toMillis();
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getService() {
+            return service;
+        }
+
+        public Instant getLeasedAt() {
+            return leasedAt;
+        }
+
+        public long getHeldMs() {
+            return heldMs;
+        }
+    }
+
+    public static class LeakReport extends LeaseStatistics {
+
+        private final List<String> stack;
+
+        LeakReport(Lease lease, long nowNanos) {
+            super(lease, nowNanos);
+            this.stack = Arrays.stream(lease.thread.getStackTrace()).map(StackTraceElement::toString).collect(Collectors.toList());
+        }
+
+        /**
+         * @return the stack of the thread holding the connection, when the leak was detected.
+         */
+        public List<String> getStack() {
+            return stack;
+        }
+    }
+}
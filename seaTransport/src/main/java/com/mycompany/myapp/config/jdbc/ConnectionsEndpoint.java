@@ -0,0 +1,44 @@
+package com.mycompany.myapp.config.jdbc;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /management/connections} : the connections currently leased, the longest held first, and the last leaks
+ * reported by the {@link ConnectionMonitor}, with the stack of the thread holding the connection.
+ */
+@Endpoint(id = "connections")
+public class ConnectionsEndpoint {
+
+    private final ConnectionMonitor connectionMonitor;
+
+    public ConnectionsEndpoint(ConnectionMonitor connectionMonitor) {
+        this.connectionMonitor = connectionMonitor;
+    }
+
+    @ReadOperation
+    public Connections connections() {
+        return new Connections(connectionMonitor.getLeases(), connectionMonitor.getLeaks());
+    }
+
+    public static class Connections {
+
+        private final List<ConnectionMonitor.LeaseStatistics> leased;
+
+        private final List<ConnectionMonitor.LeakReport> leaks;
+
+        Connections(List<ConnectionMonitor.LeaseStatistics> leased, List<ConnectionMonitor.LeakReport> leaks) {
+            this.leased = leased;
+            this.leaks = leaks;
+        }
+
+        public List<ConnectionMonitor.LeaseStatistics> getLeased() {
+            return leased;
+        }
+
+        public List<ConnectionMonitor.LeakReport> getLeaks() {
+            return leaks;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.myapp.config.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * Notifies the {@link TransactionListener}s, such as the {@link TransactionTimer}, of every new transaction of the
+ * transaction manager it delegates to, from its begin until its commit or rollback.
+ */
+public class ListeningTransactionManager implements PlatformTransactionManager {
+
+    private final Map<TransactionStatus, List<TransactionListener.Observation>> observations = new ConcurrentHashMap<>();
+
+    private final PlatformTransactionManager delegate;
+
+    private final Supplier<? extends List<? extends TransactionListener>> transactionListenersSupplier;
+
+    private volatile List<? extends TransactionListener> transactionListeners;
+
+    /**
+     * @param delegate the transaction manager to observe.
+     * @param transactionListenersSupplier supplies the listeners on the first transaction, as the transaction manager
+     * is usually created before the meter registry.
+     */
+    public ListeningTransactionManager(
+        PlatformTransactionManager delegate,
+        Supplier<? extends List<? extends TransactionListener>> transactionListenersSupplier
+    ) {
+        this.delegate = delegate;
+        this.transactionListenersSupplier = transactionListenersSupplier;
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException {
+        TransactionDefinition observed = definition != null ? definition : TransactionDefinition.withDefaults();
+        List<TransactionListener.Observation> started = null;
+        for (TransactionListener listener : transactionListeners()) {
+            TransactionListener.Observation observation = listener.begin(observed);
+            if (observation != null) {
+                if (started == null) {
+                    started = new ArrayList<>();
+                }
+                started.add(observation);
+            }
+        }
+        TransactionStatus status = delegate.getTransaction(definition);
+        if (started != null && status.isNewTransaction()) {
+            observations.put(status, started);
+        }
+        return status;
+    }
+
+    @Override
+    public void commit(TransactionStatus status) throws TransactionException {
+        String outcome = status.isRollbackOnly() ? TransactionListener.ROLLBACK : TransactionListener.COMMIT;
+        boolean completed = false;
+        try {
+            delegate.commit(status);
+            completed = true;
+        } finally {
+            end(status, completed ? outcome : TransactionListener.FAILED);
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) throws TransactionException {
+        boolean completed = false;
+        try {
+            delegate.rollback(status);
+            completed = true;
+        } finally {
+            end(status, completed ? TransactionListener.ROLLBACK : TransactionListener.FAILED);
+        }
+    }
+
+    public PlatformTransactionManager getDelegate() {
+        return delegate;
+    }
+
+    private void end(TransactionStatus status, String outcome) {
+        List<TransactionListener.Observation> ended = observations.remove(status);
+        if (ended != null) {
+            ended.forEach(observation -> observation.end(outcome));
+        }
+    }
+
+    private List<? extends TransactionListener> transactionListeners() {
+        List<? extends TransactionListener> listeners = transactionListeners;
+        if (listeners == null) {
+            listeners = transactionListenersSupplier.get();
+            transactionListeners = listeners;
+        }
+        return listeners;
+    }
+}
@@ -0,0 +1,167 @@
+package com.mycompany.myapp.config.jdbc;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the SQL statements timed by the {@link StatementTimingDataSource} into Micrometer.
+ * <p>
+ * Every statement is timed by type, as {@code sql.statements}. Statements slower than the threshold are logged, with
+ * the SQL of prepared statements, which holds no bind parameter, or with the literals of other statements replaced.
+ * Within a request, between {@link #beginRequest(String)} and {@link #endRequest(String)}, statements are also
+ * counted by shape: a request running the same statement more than the repeated statement threshold is likely to
+ * load rows one by one (N+1 selects), and is logged.
+ */
+public class SqlStatementMetrics implements StatementListener {
+
+    private static final String[] TYPES = { "select", "insert", "update", "delete" };
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final Logger log = LoggerFactory.getLogger(SqlStatementMetrics.class);
+
+    private final ThreadLocal<RequestStatements> currentRequest = new ThreadLocal<>();
+
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    private final Counter slowStatements;
+
+    private final MeterRegistry meterRegistry;
+
+    private final long slowStatementThresholdNanos;
+
+    private final int repeatedStatementThreshold;
+
+    public SqlStatementMetrics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.SqlStatistics properties = applicationProperties.getSqlStatistics();
+        this.meterRegistry = meterRegistry;
+        this.slowStatementThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowStatementThresholdMs());
+        this.repeatedStatementThreshold = properties.getRepeatedStatementThreshold();
+        for (String type : TYPES) {
+            timers.put(type, timer(type));
+        }
+        timers.put("other", timer("other"));
+        this.slowStatements = meterRegistry.counter("sql.statements.slow");
+    }
+
+    private Timer timer(String type) {
+        return Timer
+            .builder("sql.statements")
+            .tags("type", type)
+            .description("The execution time of the SQL statements, without reading their results")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void record(String sql, boolean prepared, long nanos) {
+        timers.get(type(sql)).record(nanos, TimeUnit.NANOSECONDS);
+        RequestStatements request = currentRequest.get();
+        String shape = null;
+        if (request != null) {
+            shape = prepared ? sql : withoutLiterals(sql);
+            request.add(shape, nanos);
+        }
+        if (nanos > slowStatementThresholdNanos) {
+            slowStatements.increment();
+            log.warn(
+                "Slow SQL statement ({} ms){}: {}",
+                TimeUnit.NANOSECONDS.toMillis(nanos),
+                request != null ? " in " + request.description : "",
+                shape != null ? shape : prepared ? sql : withoutLiterals(sql)
+            );
+        }
+    }
+
+    /**
+     * Start counting the statements run by the current thread for a request.
+     *
+     * @param description the description of the request in the logs, for instance its method and URI.
+     */
+    public void beginRequest(String description) {
+        currentRequest.set(new RequestStatements(description));
+    }
+
+    /**
+     * Stop counting the statements run by the current thread, and record them for the endpoint of the request.
+     *
+     * @param uri the URI template of the endpoint.
+     */
+    public void endRequest(String uri) {
+        RequestStatements request = currentRequest.get();
+        if (request == null) {
+            return;
+        }
+        currentRequest.remove();
+        DistributionSummary
+            .builder("http.server.requests.sql.statements")
+            .tags("uri", uri)
+            .description("The number of SQL statements run by a request")
+            .register(meterRegistry)
+            .record(request.count);
+        Timer
+            .builder("http.server.requests.sql.duration")
+            .tags("uri", uri)
+            .description("The total execution time of the SQL statements run by a request")
+            .register(meterRegistry)
+            .record(request.nanos, TimeUnit.NANOSECONDS);
+        Map.Entry<String, int[]> mostRepeated = null;
+        for (Map.Entry<String, int[]> shape : request.countsByShape.entrySet()) {
+            if (mostRepeated == null || shape.getValue()[0] > mostRepeated.getValue()[0]) {
+                mostRepeated = shape;
+            }
+        }
+        if (mostRepeated != null && mostRepeated.getValue()[0] > repeatedStatementThreshold) {
+            meterRegistry.counter("http.server.requests.sql.repeated", "uri", uri).increment();
+            log.warn("{} ran {} times the same SQL statement: {}", request.description, mostRepeated.getValue()[0], mostRepeated.getKey());
+        }
+    }
+
+    static String type(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        for (String type : TYPES) {
+            if (sql.regionMatches(true, start, type, 0, type.length())) {
+                return type;
+            }
+        }
+        return "other";
+    }
+
+    public static String withoutLiterals(String sql) {
+        return NUMBER_LITERAL.matcher(STRING_LITERAL.matcher(sql).replaceAll("?")).replaceAll("?");
+    }
+
+    private static final class RequestStatements {
+
+        private final String description;
+
+        private final Map<String, int[]> countsByShape = new HashMap<>();
+
+        private int count;
+
+        private long nanos;
+
+        private RequestStatements(String description) {
+            this.description = description;
+        }
+
+        private void add(String shape, long statementNanos) {
+            count++;
+            nanos += statementNanos;
+            countsByShape.computeIfAbsent(shape, s -> new int[1])[0]++;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mycompany.myapp.config.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listens to the execution of the statements timed by the {@link StatementTimingDataSource}.
+ */
+@FunctionalInterface
+public interface StatementListener {
+    /**
+     * Record the execution of a statement.
+     *
+     * @param sql the SQL of the statement.
+     * @param prepared whether the SQL is the one of a prepared statement, so holds no literal values.
+     * @param nanos the execution time in nanoseconds.
+     */
+    void record(String sql, boolean prepared, long nanos);
+
+    /**
+     * @return a listener notifying every listener, in order.
+     */
+    static StatementListener of(List<? extends StatementListener> listeners) {
+        if (listeners.size() == 1) {
+            return listeners.get(0);
+        }
+        List<StatementListener> copy = new ArrayList<>(listeners);
+        return (sql, prepared, nanos) -> {
+            for (StatementListener listener : copy) {
+                listener.record(sql, prepared, nanos);
+            }
+        };
+    }
+}
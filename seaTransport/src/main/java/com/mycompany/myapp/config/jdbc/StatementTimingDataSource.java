@@ -0,0 +1,189 @@
+package com.mycompany.myapp.config.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source timing the execution of every JDBC statement, recorded by a {@link StatementListener}, such as the
+ * {@link SqlStatementMetrics}, and the lease of every connection, recorded by a {@link ConnectionListener}, such as
+ * the {@link ConnectionMonitor}.
+ * <p>
+ * Connections and statements are wrapped in dynamic proxies, which only add work to the {@code execute} methods and
+ * to {@code close}.
+ * The pool behind it can still be unwrapped, for its own metrics.
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private final Supplier<? extends StatementListener> statementListenerSupplier;
+
+    private final Supplier<? extends ConnectionListener> connectionListenerSupplier;
+
+    private volatile StatementListener statementListener;
+
+    private volatile ConnectionListener connectionListener;
+
+    /**
+     * @param targetDataSource the data source to wrap.
+     * @param statementListenerSupplier supplies the listener on the first statement, as the data source is usually
+     * created before the meter registry.
+     */
+    public StatementTimingDataSource(DataSource targetDataSource, Supplier<? extends StatementListener> statementListenerSupplier) {
+        this(targetDataSource, statementListenerSupplier, () -> ConnectionListener.of(Collections.emptyList()));
+    }
+
+    /**
+     * @param targetDataSource the data source to wrap.
+     * @param statementListenerSupplier supplies the listener on the first statement, as the data source is usually
+     * created before the meter registry.
+     * @param connectionListenerSupplier supplies the listener on the first connection, for the same reason.
+     */
+    public StatementTimingDataSource(
+        DataSource targetDataSource,
+        Supplier<? extends StatementListener> statementListenerSupplier,
+        Supplier<? extends ConnectionListener> connectionListenerSupplier
+    ) {
+        super(targetDataSource);
+        this.statementListenerSupplier = statementListenerSupplier;
+        this.connectionListenerSupplier = connectionListenerSupplier;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        return proxy(Connection.class, new ConnectionHandler(connection, connectionListener().acquired(System.nanoTime() - start)));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        return proxy(Connection.class, new ConnectionHandler(connection, connectionListener().acquired(System.nanoTime() - start)));
+    }
+
+    private StatementListener statementListener() {
+        StatementListener listener = statementListener;
+        if (listener == null) {
+            listener = statementListenerSupplier.get();
+            statementListener = listener;
+        }
+        return listener;
+    }
+
+    private ConnectionListener connectionListener() {
+        ConnectionListener listener = connectionListener;
+        if (listener == null) {
+            listener = connectionListenerSupplier.get();
+            connectionListener = listener;
+        }
+        return listener;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementTimingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String sqlArgument(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private final AtomicReference<Runnable> release;
+
+        private ConnectionHandler(Connection connection, Runnable release) {
+            this.connection = connection;
+            this.release = new AtomicReference<>(release);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    Runnable releaseAction = release.getAndSet(null);
+                    try {
+                        return StatementTimingDataSource.invoke(connection, method, args);
+                    } finally {
+                        if (releaseAction != null) {
+                            releaseAction.run();
+                        }
+                    }
+                default:
+                    Object result = StatementTimingDataSource.invoke(connection, method, args);
+                    if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        // Statement, PreparedStatement or CallableStatement
+                        return proxy(method.getReturnType(), new StatementHandler((Statement) result, sqlArgument(args)));
+                    }
+                    return result;
+            }
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+
+        private final String preparedSql;
+
+        private String batchSql;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if (!name.startsWith("execute")) {
+                if ("addBatch".equals(name) && sqlArgument(args) != null) {
+                    batchSql = sqlArgument(args);
+                }
+                return StatementTimingDataSource.invoke(statement, method, args);
+            }
+            String sql = sqlArgument(args);
+            boolean prepared = sql == null && preparedSql != null;
+            if (sql == null) {
+                sql = preparedSql != null ? preparedSql : batchSql;
+            }
+            long start = System.nanoTime();
+            try {
+                return StatementTimingDataSource.invoke(statement, method, args);
+            } finally {
+                if (sql != null) {
+                    statementListener().record(sql, prepared, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.mycompany.myapp.config.jdbc;
+
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Listens to the new transactions of the {@link ListeningTransactionManager}.
+ */
+@FunctionalInterface
+public interface TransactionListener {
+    String COMMIT = "commit";
+
+    String ROLLBACK = "rollback";
+
+    String FAILED = "failed";
+
+    /**
+     * Called before a transaction begins. Participating in an existing transaction is not observed: the observation
+     * is then discarded without being ended.
+     *
+     * @param definition the definition of the transaction.
+     * @return the observation of the transaction, or {@code null} to not observe it.
+     */
+    Observation begin(TransactionDefinition definition);
+
+    @FunctionalInterface
+    interface Observation {
+        /**
+         * @param outcome {@link #COMMIT}, {@link #ROLLBACK} or {@link #FAILED}.
+         */
+        void end(String outcome);
+    }
+}
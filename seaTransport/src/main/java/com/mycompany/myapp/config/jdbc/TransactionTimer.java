@@ -0,0 +1,46 @@
+package com.mycompany.myapp.config.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Times every new transaction, from its begin until its commit or rollback, as {@code transaction.duration}.
+ */
+public class TransactionTimer implements TransactionListener {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public TransactionTimer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Observation begin(TransactionDefinition definition) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return outcome ->
+            sample.stop(
+                Timer
+                    .builder("transaction.duration")
+                    .description("Duration of the transactions, from their begin until their commit or rollback")
+                    .tags("name", name(definition), "read.only", String.valueOf(definition.isReadOnly()), "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+            );
+    }
+
+    /**
+     * @return the transactional method, as {@code Class.method}.
+     */
+    private static String name(TransactionDefinition definition) {
+        String name = definition.getName();
+        if (name == null) {
+            return NONE;
+        }
+        int method = name.lastIndexOf('.');
+        int type = method > 0 ? name.lastIndexOf('.', method - 1) : -1;
+        return name.substring(type + 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.mycompany.myapp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup in a second-level cache region, emitted by the cache manager from {@link FlightRecorderCacheManager}.
+ * <p>
+ * As there are many lookups per request, the event is disabled unless a recording enables it, as the
+ * {@link FlightRecordingEndpoint} does.
+ */
+@Name("com.mycompany.myapp.CacheLookup")
+@Label("Cache Lookup")
+@Category({ "Sea Transport", "Cache" })
+@Description("A lookup in a Hibernate second-level cache region")
+@Enabled(false)
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Region")
+    private String region;
+
+    @Label("Hit")
+    private boolean hit;
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public void setHit(boolean hit) {
+        this.hit = hit;
+    }
+}
@@ -0,0 +1,300 @@
+package com.mycompany.myapp.config.jfr;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Profiles the allocations and the CPU usage of the application continuously, with the JDK Flight Recorder.
+ * <p>
+ * Java 11 cannot stream the events of a recording, so each window is a recording of its own: at the end of a window,
+ * the next recording is started, and the finished one is dumped and parsed. Only the samples whose stack has a frame
+ * of the application are kept, summed by stack into a {@link StackAggregate}. The memory used is bounded by the number
+ * of windows, the number of stacks of a window and the number of frames of a stack: the names of the frames are shared
+ * by all the stacks, so a stack costs an array of references.
+ * <p>
+ * The recordings are rotated and parsed on a thread of their own, so that parsing does not delay the scheduled jobs.
+ * <p>
+ * Allocations are sampled by JFR when a thread gets a new TLAB or allocates outside of it, which is cheap enough to be
+ * left on; the weight of a sample is the size of the new TLAB, or of the object allocated outside of it.
+ */
+public class ContinuousProfiler {
+
+    public static final String ALLOCATION = "allocation";
+
+    public static final String CPU = "cpu";
+
+    private static final String APPLICATION_PACKAGE = "com.mycompany.myapp.";
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    private static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+
+    private static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+
+    private static final String TRUNCATED = "[truncated]";
+
+    /**
+     * Bound of the shared frame names, beyond which new names are no longer shared.
+     */
+    private static final int MAX_FRAME_NAMES = 100_000;
+
+    private final Logger log = LoggerFactory.getLogger(ContinuousProfiler.class);
+
+    private final ApplicationProperties.ContinuousProfiling properties;
+
+    private final Deque<Window> windows = new ArrayDeque<>();
+
+    private final Map<String, String> frameNames = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    private Recording recording;
+
+    private Instant recordingStart;
+
+    private final Clock clock;
+
+    public ContinuousProfiler(ApplicationProperties applicationProperties, Clock clock) {
+        this.properties = applicationProperties.getContinuousProfiling();
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        executor =
+            Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                    Thread thread = new Thread(runnable, "continuous-profiling");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        executor.scheduleWithFixedDelay(
+            () -> {
+                try {
+                    rotate();
+                } catch (RuntimeException e) {
+                    // An exception would cancel the next rotations
+                    log.warn("Could not rotate the profiling recording", e);
+                }
+            },
+            0,
+            properties.getWindowMs(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * End the current window, if any, and start the next one.
+     */
+    public synchronized void rotate() {
+        Recording finished = recording;
+        Instant finishedStart = recordingStart;
+        recording = newRecording();
+        recording.start();
+        recordingStart = clock.instant();
+        if (finished == null) {
+            return;
+        }
+        finished.stop();
+        try {
+            Window window = aggregate(finished, finishedStart, recordingStart);
+            synchronized (windows) {
+                windows.addLast(window);
+                while (windows.size() > properties.getWindows()) {
+                    windows.removeFirst();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read the profiling recording: {}", e.getMessage());
+        } finally {
+            finished.close();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Merge the windows ended within the last minutes.
+     *
+     * @param type {@link #ALLOCATION} or {@link #CPU}.
+     * @param minutes the number of minutes, or all the windows kept if null.
+     * @return the merged aggregate, or null if the type is unknown.
+     */
+    public StackAggregate getAggregate(String type, Integer minutes) {
+        if (!ALLOCATION.equals(type) && !CPU.equals(type)) {
+            return null;
+        }
+        StackAggregate result = new StackAggregate(properties.getMaxStacks());
+        for (Window window : windows(minutes)) {
+            result.addAll(ALLOCATION.equals(type) ? window.allocations : window.cpu);
+        }
+        return result;
+    }
+
+    /**
+     * @param minutes the number of minutes, or all the windows kept if null.
+     * @return the windows ended within the last minutes, the oldest first.
+     */
+    public List<Window> windows(Integer minutes) {
+        Instant since = minutes != null ? clock.instant().minus(Duration.ofMinutes(minutes)) : Instant.MIN;
+        synchronized (windows) {
+            List<Window> result = new ArrayList<>();
+            for (Window window : windows) {
+                if (!window.end.isBefore(since)) {
+                    result.add(window);
+                }
+            }
+            return result;
+        }
+    }
+
+    private Recording newRecording() {
+        Recording newRecording = new Recording();
+        newRecording.setName("continuous-profiling");
+        newRecording.setToDisk(true);
+        newRecording.enable(EXECUTION_SAMPLE).withPeriod(Duration.ofMillis(properties.getCpuSamplePeriodMs()));
+        newRecording.enable(ALLOCATION_IN_NEW_TLAB).withStackTrace();
+        newRecording.enable(ALLOCATION_OUTSIDE_TLAB).withStackTrace();
+        return newRecording;
+    }
+
+    private Window aggregate(Recording finished, Instant start, Instant end) throws IOException {
+        Window window = new Window(start, end, properties.getMaxStacks());
+        Path file = Files.createTempFile("continuous-profiling-", ".jfr");
+        try {
+            finished.dump(file);
+            try (RecordingFile recordingFile = new RecordingFile(file)) {
+                while (recordingFile.hasMoreEvents()) {
+                    add(window, recordingFile.readEvent());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return window;
+    }
+
+    private void add(Window window, RecordedEvent event) {
+        String name = event.getEventType().getName();
+        if (EXECUTION_SAMPLE.equals(name)) {
+            add(window.cpu, event.getStackTrace(), null, 1);
+        } else if (ALLOCATION_IN_NEW_TLAB.equals(name)) {
+            add(window.allocations, event.getStackTrace(), event.getClass("objectClass").getName(), event.getLong("tlabSize"));
+        } else if (ALLOCATION_OUTSIDE_TLAB.equals(name)) {
+            add(window.allocations, event.getStackTrace(), event.getClass("objectClass").getName(), event.getLong("allocationSize"));
+        }
+    }
+
+    /**
+     * Add a sample if its stack has a frame of the application. The frames of the profiler itself are left out, as
+     * parsing the recordings allocates. Only the max-frames frames closest to the top of the stack are kept.
+     */
+    private void add(StackAggregate aggregate, RecordedStackTrace stackTrace, String allocatedType, long weight) {
+        if (stackTrace == null) {
+            aggregate.addUnattributed(weight);
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String hotspot = null;
+        List<String> stack = new ArrayList<>();
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            RecordedFrame frame = frames.get(i);
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.equals(ContinuousProfiler.class.getName())) {
+                return;
+            }
+            String method = frameName(type + "." + frame.getMethod().getName());
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                hotspot = method;
+            }
+            stack.add(method);
+        }
+        if (hotspot == null) {
+            aggregate.addUnattributed(weight);
+            return;
+        }
+        if (allocatedType != null) {
+            stack.add(frameName(allocatedType));
+            hotspot = frameName(hotspot + " (" + allocatedType + ")");
+        }
+        if (stack.size() > properties.getMaxFrames()) {
+            stack = new ArrayList<>(stack.subList(stack.size() - properties.getMaxFrames(), stack.size()));
+            stack.add(0, TRUNCATED);
+        }
+        aggregate.add(stack.toArray(new String[0]), hotspot, weight);
+    }
+
+    private String frameName(String name) {
+        String shared = frameNames.get(name);
+        if (shared != null) {
+            return shared;
+        }
+        if (frameNames.size() < MAX_FRAME_NAMES) {
+            frameNames.put(name, name);
+        }
+        return name;
+    }
+
+    public static class Window {
+
+        private final Instant start;
+
+        private final Instant end;
+
+        private final StackAggregate allocations;
+
+        private final StackAggregate cpu;
+
+        Window(Instant start, Instant end, int maxStacks) {
+            this.start = start;
+            this.end = end;
+            this.allocations = new StackAggregate(maxStacks);
+            this.cpu = new StackAggregate(maxStacks);
+        }
+
+        public Instant getStart() {
+            return start;
+        }
+
+        public Instant getEnd() {
+            return end;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mycompany.myapp.config.jfr;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /management/continuousprofiling} : the methods of the application allocating and using the CPU the most,
+ * over the last {@code minutes}.
+ * <p>
+ * {@code /management/continuousprofiling/allocation} and {@code /management/continuousprofiling/cpu} return the
+ * collapsed stacks, to be rendered as flame graphs, for instance with {@code flamegraph.pl}.
+ */
+@Endpoint(id = "continuousprofiling")
+public class ContinuousProfilingEndpoint {
+
+    private final ContinuousProfiler continuousProfiler;
+
+    private final ApplicationProperties.ContinuousProfiling properties;
+
+    public ContinuousProfilingEndpoint(ContinuousProfiler continuousProfiler, ApplicationProperties applicationProperties) {
+        this.continuousProfiler = continuousProfiler;
+        this.properties = applicationProperties.getContinuousProfiling();
+    }
+
+    @ReadOperation
+    public Profile profile(@Nullable Integer minutes) {
+        List<ContinuousProfiler.Window> windows = continuousProfiler.windows(minutes);
+        StackAggregate allocations = continuousProfiler.getAggregate(ContinuousProfiler.ALLOCATION, minutes);
+        StackAggregate cpu = continuousProfiler.getAggregate(ContinuousProfiler.CPU, minutes);
+        return new Profile(
+            windows.isEmpty() ? null : windows.get(0).getStart(),
+            windows.isEmpty() ? null : windows.get(windows.size() - 1).getEnd(),
+            allocations.getTotal(),
+            allocations.topHotspots(properties.getTopN()),
+            cpu.getTotal(),
+            cpu.topHotspots(properties.getTopN())
+        );
+    }
+
+    @ReadOperation(produces = "text/plain")
+    public String collapsedStacks(@Selector String type, @Nullable Integer minutes) {
+        StackAggregate aggregate = continuousProfiler.getAggregate(type, minutes);
+        return aggregate != null ? aggregate.collapsedStacks() : null;
+    }
+
+    public static class Profile {
+
+        private final Instant from;
+
+        private final Instant to;
+
+        private final long allocatedBytes;
+
+        private final List<StackAggregate.Hotspot> topAllocations;
+
+        private final long cpuSamples;
+
+        private final List<StackAggregate.Hotspot> topCpu;
+
+        Profile(
+            Instant from,
+            Instant to,
+            long allocatedBytes,
+            List<StackAggregate.Hotspot> topAllocations,
+            long cpuSamples,
+            List<StackAggregate.Hotspot> topCpu
+        ) {
+            this.from = from;
+            this.to = to;
+            this.allocatedBytes = allocatedBytes;
+            this.topAllocations = topAllocations;
+            this.cpuSamples = cpuSamples;
+            this.topCpu = topCpu;
+        }
+
+        public Instant getFrom() {
+            return from;
+        }
+
+        public Instant getTo() {
+            return to;
+        }
+
+        /**
+         * @return the estimated bytes allocated by all the threads, including outside of the application.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public List<StackAggregate.Hotspot> getTopAllocations() {
+            return topAllocations;
+        }
+
+        /**
+         * @return the number of CPU samples of all the threads, including outside of the application.
+         */
+        public long getCpuSamples() {
+            return cpuSamples;
+        }
+
+        public List<StackAggregate.Hotspot> getTopCpu() {
+            return topCpu;
+        }
+    }
+}
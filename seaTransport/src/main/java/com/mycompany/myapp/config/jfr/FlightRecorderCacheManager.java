@@ -0,0 +1,74 @@
+package com.mycompany.myapp.config.jfr;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+/**
+ * Wraps a JCache {@link CacheManager}, so that the lookups in its caches emit {@link CacheLookupEvent}s.
+ * <p>
+ * Only the cache manager given to Hibernate is wrapped, so that the events are the second-level cache lookups.
+ */
+public final class FlightRecorderCacheManager {
+
+    private FlightRecorderCacheManager() {}
+
+    public static CacheManager wrap(CacheManager cacheManager) {
+        return (CacheManager) Proxy.newProxyInstance(
+            FlightRecorderCacheManager.class.getClassLoader(),
+            new Class<?>[] { CacheManager.class },
+            (proxy, method, args) -> {
+                Object result = invoke(cacheManager, method, args);
+                return result instanceof Cache ? wrap((Cache<?, ?>) result) : result;
+            }
+        );
+    }
+
+    static Cache<?, ?> wrap(Cache<?, ?> cache) {
+        return (Cache<?, ?>) Proxy.newProxyInstance(
+            FlightRecorderCacheManager.class.getClassLoader(),
+            new Class<?>[] { Cache.class },
+            new LookupRecordingHandler(cache)
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class LookupRecordingHandler implements InvocationHandler {
+
+        private final Cache<?, ?> cache;
+
+        private final String region;
+
+        LookupRecordingHandler(Cache<?, ?> cache) {
+            this.cache = cache;
+            this.region = cache.getName();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!"get".equals(method.getName())) {
+                return FlightRecorderCacheManager.invoke(cache, method, args);
+            }
+            CacheLookupEvent event = new CacheLookupEvent();
+            event.begin();
+            Object value = FlightRecorderCacheManager.invoke(cache, method, args);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setRegion(region);
+                event.setHit(value != null);
+                event.commit();
+            }
+            return value;
+        }
+    }
+}
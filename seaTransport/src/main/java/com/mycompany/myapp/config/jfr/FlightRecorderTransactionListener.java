@@ -0,0 +1,33 @@
+package com.mycompany.myapp.config.jfr;
+
+import com.mycompany.myapp.config.jdbc.TransactionListener;
+import jdk.jfr.EventType;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Emits a {@link TransactionEvent} for every new transaction.
+ * <p>
+ * When no recording enables the event, the only cost is a check of its {@link EventType}.
+ */
+public class FlightRecorderTransactionListener implements TransactionListener {
+
+    private static final EventType TRANSACTION_EVENT = EventType.getEventType(TransactionEvent.class);
+
+    @Override
+    public Observation begin(TransactionDefinition definition) {
+        if (!TRANSACTION_EVENT.isEnabled()) {
+            return null;
+        }
+        TransactionEvent event = new TransactionEvent();
+        event.begin();
+        return outcome -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setName(definition.getName());
+                event.setReadOnly(definition.isReadOnly());
+                event.setOutcome(outcome);
+                event.commit();
+            }
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package com.mycompany.myapp.config.jfr;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /management/flightrecording} : a JDK Flight Recorder recording, with the events of the application enabled
+ * on top of the configured settings.
+ * <ul>
+ *     <li>{@code POST} starts a new recording, for the given {@code durationSeconds} or until it is stopped.</li>
+ *     <li>{@code DELETE} stops the recording, which can still be downloaded.</li>
+ *     <li>{@code GET} downloads the recording, so far if it is still running.</li>
+ * </ul>
+ */
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "sea-transport";
+
+    private final ApplicationProperties.FlightRecorder properties;
+
+    private Recording recording;
+
+    private Path dump;
+
+    public FlightRecordingEndpoint(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getFlightRecorder();
+    }
+
+    @WriteOperation
+    public synchronized RecordingStatus start(@Nullable Long durationSeconds) {
+        close();
+        Recording newRecording = new Recording(settings());
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(Duration.ofSeconds(properties.getMaxAgeSeconds()));
+        newRecording.setMaxSize(properties.getMaxSizeBytes());
+        if (durationSeconds != null) {
+            newRecording.setDuration(Duration.ofSeconds(durationSeconds));
+        }
+        newRecording.enable(HttpRequestEvent.class).withThreshold(Duration.ZERO);
+        newRecording.enable(TransactionEvent.class).withThreshold(Duration.ZERO).withStackTrace();
+        newRecording.enable(CacheLookupEvent.class).withThreshold(Duration.ZERO);
+        newRecording.enable(TokenValidationEvent.class).withThreshold(Duration.ZERO);
+        newRecording.start();
+        recording = newRecording;
+        return RecordingStatus.of(recording);
+    }
+
+    @DeleteOperation
+    public synchronized RecordingStatus stop() {
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return RecordingStatus.of(recording);
+    }
+
+    /**
+     * Dump the recording into a temporary file, which is replaced by the next dump.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource download() {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return null;
+        }
+        try {
+            deleteDump();
+            dump = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+            recording.dump(dump);
+            return new FileSystemResource(dump);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Configuration settings() {
+        try {
+            return Configuration.getConfiguration(properties.getSettings());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid flight recorder settings " + properties.getSettings(), e);
+        }
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteDump();
+    }
+
+    private void deleteDump() {
+        if (dump != null) {
+            try {
+                Files.deleteIfExists(dump);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            dump = null;
+        }
+    }
+
+    public static class RecordingStatus {
+
+        private final String state;
+
+        private final Instant startTime;
+
+        private final Instant stopTime;
+
+        private final Long durationSeconds;
+
+        private final long size;
+
+        private RecordingStatus(String state, Instant startTime, Instant stopTime, Long durationSeconds, long size) {
+            this.state = state;
+            this.startTime = startTime;
+            this.stopTime = stopTime;
+            this.durationSeconds = durationSeconds;
+            this.size = size;
+        }
+
+        static RecordingStatus of(Recording recording) {
+            Duration duration = recording.getDuration();
+            return new RecordingStatus(
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getStopTime(),
+                duration != null ? duration.getSeconds() : null,
+                recording.getSize()
+            );
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public Instant getStartTime() {
+            return startTime;
+        }
+
+        public Instant getStopTime() {
+            return stopTime;
+        }
+
+        public Long getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
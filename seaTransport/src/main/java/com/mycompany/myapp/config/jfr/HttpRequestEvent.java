@@ -0,0 +1,41 @@
+package com.mycompany.myapp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A REST request, emitted by the {@link com.mycompany.myapp.web.filter.FlightRecorderFilter}.
+ */
+@Name("com.mycompany.myapp.HttpRequest")
+@Label("HTTP Request")
+@Category({ "Sea Transport", "HTTP" })
+@Description("A REST request, from the first filter until the response is committed")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("Endpoint")
+    @Description("URI template of the endpoint, or the request URI when no endpoint was matched")
+    private String endpoint;
+
+    @Label("Status")
+    private int status;
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+}
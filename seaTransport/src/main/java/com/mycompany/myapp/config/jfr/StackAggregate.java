@@ -0,0 +1,142 @@
+package com.mycompany.myapp.config.jfr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Weights (sampled CPU time or allocated bytes) summed by stack and by hot spot, with a bounded number of each: once
+ * full, the weight of new stacks and hot spots goes to {@link #OTHER}.
+ * <p>
+ * Stacks are kept as arrays of frame names, the root frame first, which the profiler shares between all the stacks, and
+ * are collapsed with frames separated by {@code ;} when printed, as expected by flame graph tools. A hot spot is the
+ * frame of the application closest to the top of the stack, which is the method of the application responsible for
+ * the sample, with the allocated type for allocations.
+ */
+public class StackAggregate {
+
+    static final String OTHER = "[other]";
+
+    private static final Stack OTHER_STACK = new Stack(new String[] { OTHER });
+
+    private final int maxEntries;
+
+    private final Map<Stack, Long> weightsByStack = new HashMap<>();
+
+    private final Map<String, Long> weightsByHotspot = new HashMap<>();
+
+    private long total;
+
+    StackAggregate(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param frames the frames of the stack, the root first.
+     * @param hotspot the hot spot of the stack.
+     * @param weight the weight of the sample.
+     */
+    void add(String[] frames, String hotspot, long weight) {
+        total += weight;
+        add(weightsByStack, new Stack(frames), OTHER_STACK, weight);
+        add(weightsByHotspot, hotspot, OTHER, weight);
+    }
+
+    /**
+     * Count the weight of a sample outside of the application, so that the share of the application is known.
+     */
+    void addUnattributed(long weight) {
+        total += weight;
+    }
+
+    /**
+     * Merge another aggregate, keeping the bound of this one.
+     */
+    void addAll(StackAggregate other) {
+        total += other.total;
+        other.weightsByStack.forEach((stack, weight) -> add(weightsByStack, stack, OTHER_STACK, weight));
+        other.weightsByHotspot.forEach((hotspot, weight) -> add(weightsByHotspot, hotspot, OTHER, weight));
+    }
+
+    long getTotal() {
+        return total;
+    }
+
+    List<Hotspot> topHotspots(int limit) {
+        List<Hotspot> hotspots = new ArrayList<>();
+        weightsByHotspot.forEach((hotspot, weight) -> hotspots.add(new Hotspot(hotspot, weight, total)));
+        hotspots.sort((first, second) -> Long.compare(second.getWeight(), first.getWeight()));
+        return hotspots.size() > limit ? new ArrayList<>(hotspots.subList(0, limit)) : hotspots;
+    }
+
+    /**
+     * @return one {@code stack weight} line per stack, the heaviest first.
+     */
+    String collapsedStacks() {
+        return weightsByStack
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.<Stack, Long>comparingByValue().reversed())
+            .map(entry -> String.join(";", entry.getKey().frames) + " " + entry.getValue())
+            .collect(Collectors.joining("\n", "", "\n"));
+    }
+
+    private <K> void add(Map<K, Long> weights, K key, K other, long weight) {
+        if (weights.size() >= maxEntries && !weights.containsKey(key)) {
+            key = other;
+        }
+        weights.merge(key, weight, Long::sum);
+    }
+
+    private static final class Stack {
+
+        private final String[] frames;
+
+        private final int hash;
+
+        private Stack(String[] frames) {
+            this.frames = frames;
+            this.hash = Arrays.hashCode(frames);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Stack && Arrays.equals(frames, ((Stack) o).frames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    public static class Hotspot {
+
+        private final String hotspot;
+
+        private final long weight;
+
+        private final double share;
+
+        Hotspot(String hotspot, long weight, long total) {
+            this.hotspot = hotspot;
+            this.weight = weight;
+            this.share = total > 0 ? (double) weight / total : 0;
+        }
+
+        public String getHotspot() {
+            return hotspot;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public double getShare() {
+            return share;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.mycompany.myapp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The validation of a JWT token, emitted by the {@link com.mycompany.myapp.security.jwt.TokenProvider}.
+ */
+@Name("com.mycompany.myapp.TokenValidation")
+@Label("Token Validation")
+@Category({ "Sea Transport", "Security" })
+@Description("The parsing and signature verification of a JWT token")
+@StackTrace(false)
+public class TokenValidationEvent extends Event {
+
+    @Label("Valid")
+    private boolean valid;
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mycompany.myapp.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A transaction, from its begin until its commit or rollback, emitted by the
+ * {@link FlightRecorderTransactionListener}. The stack trace is the one of the code beginning the transaction.
+ */
+@Name("com.mycompany.myapp.Transaction")
+@Label("Transaction")
+@Category({ "Sea Transport", "Database" })
+@Description("A transaction, from its begin, which includes acquiring the connection, until its commit or rollback")
+public class TransactionEvent extends Event {
+
+    @Label("Name")
+    @Description("Name of the transaction, usually the transactional method")
+    private String name;
+
+    @Label("Read Only")
+    private boolean readOnly;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
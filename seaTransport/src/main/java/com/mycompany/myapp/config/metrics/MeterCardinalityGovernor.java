@@ -0,0 +1,145 @@
+package com.mycompany.myapp.config.metrics;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the number of series of the meters bounded.
+ * <ul>
+ *     <li>The values of the URI tags which are not the URI template of a known endpoint are collapsed into
+ *     {@link #UNKNOWN}, as they are raw URIs of unmatched requests.</li>
+ *     <li>Each tag of a meter can take a bounded number of values: further values are collapsed into
+ *     {@link #OTHER}.</li>
+ *     <li>Only the timers and distribution summaries of the allowlist publish a percentile histogram and client-side
+ *     percentiles. The meters read by the metrics page of the administration (connection pool, GC pauses) keep their
+ *     client-side percentiles, without histogram.</li>
+ * </ul>
+ * The known URI templates are set once the application is ready: until then, URI tags are only capped.
+ */
+public class MeterCardinalityGovernor implements MeterFilter {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    public static final String OTHER = "OTHER";
+
+    /**
+     * The values of the URI tags of Spring Boot for the requests without an endpoint, and of our own meters outside
+     * of a request.
+     */
+    private static final Set<String> SPECIAL_URIS = new HashSet<>(Arrays.asList(UNKNOWN, "NOT_FOUND", "REDIRECTION", "root", "none"));
+
+    private final ApplicationProperties.MetricsGovernor properties;
+
+    private final Set<String> uriTags;
+
+    private final Set<String> histogramMeters;
+
+    private final List<String> percentileMeters;
+
+    private final Map<String, Set<String>> valuesByMeterTag = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> collapsedByMeter = new ConcurrentHashMap<>();
+
+    private volatile Set<String> knownUris;
+
+    public MeterCardinalityGovernor(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getMetricsGovernor();
+        this.uriTags = new HashSet<>(properties.getUriTags());
+        this.histogramMeters = new HashSet<>(properties.getHistogramMeters());
+        this.percentileMeters = new ArrayList<>(properties.getPercentileMeters());
+    }
+
+    /**
+     * @param knownUris the URI templates of the endpoints of the application.
+     */
+    public void setKnownUris(Set<String> knownUris) {
+        Set<String> uris = new HashSet<>(knownUris);
+        uris.addAll(SPECIAL_URIS);
+        this.knownUris = uris;
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        List<Tag> tags = id.getTags();
+        List<Tag> mapped = null;
+        for (int i = 0; i < tags.size(); i++) {
+            Tag tag = tags.get(i);
+            String value = governedValue(id.getName(), tag);
+            if (!value.equals(tag.getValue())) {
+                if (mapped == null) {
+                    mapped = new ArrayList<>(tags);
+                }
+                mapped.set(i, Tag.of(tag.getKey(), value));
+                collapsedByMeter.computeIfAbsent(id.getName(), name -> new AtomicLong()).incrementAndGet();
+            }
+        }
+        return mapped != null ? id.replaceTags(mapped) : id;
+    }
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getType() != Meter.Type.TIMER && id.getType() != Meter.Type.DISTRIBUTION_SUMMARY) {
+            return config;
+        }
+        boolean histogram = histogramMeters.contains(id.getName());
+        if (!histogram && !isPercentileMeter(id.getName())) {
+            return DistributionStatisticConfig.builder().percentilesHistogram(false).build().merge(config);
+        }
+        DistributionStatisticConfig.Builder governed = DistributionStatisticConfig.builder().percentilesHistogram(histogram);
+        if (!properties.getPercentiles().isEmpty()) {
+            governed.percentiles(properties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray());
+        }
+        return governed.build().merge(config);
+    }
+
+    /**
+     * @return the number of meter registrations whose tags were collapsed, by meter name.
+     */
+    public Map<String, Long> getCollapsedByMeter() {
+        Map<String, Long> result = new HashMap<>();
+        collapsedByMeter.forEach((name, count) -> result.put(name, count.get()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @return whether the meter is listed in the percentile meters, by name or by a prefix of its name.
+     */
+    private boolean isPercentileMeter(String name) {
+        for (String meter : percentileMeters) {
+            if (name.equals(meter) || name.startsWith(meter + '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String governedValue(String name, Tag tag) {
+        String value = tag.getValue();
+        Set<String> uris = knownUris;
+        if (uris != null && uriTags.contains(tag.getKey()) && !uris.contains(value)) {
+            value = UNKNOWN;
+        }
+        Set<String> values = valuesByMeterTag.computeIfAbsent(name + '|' + tag.getKey(), key -> ConcurrentHashMap.newKeySet());
+        if (values.contains(value)) {
+            return value;
+        }
+        if (values.size() < properties.getMaxTagValues()) {
+            values.add(value);
+            return value;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.myapp.config.metrics;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.HistogramSupport;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /management/metricscardinality} : the meters with the most series, as exported, with the number of their
+ * registrations whose tags were collapsed by the {@link MeterCardinalityGovernor}.
+ */
+@Endpoint(id = "metricscardinality")
+public class MetricsCardinalityEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    private final MeterCardinalityGovernor governor;
+
+    private final ApplicationProperties.MetricsGovernor properties;
+
+    public MetricsCardinalityEndpoint(
+        MeterRegistry meterRegistry,
+        MeterCardinalityGovernor governor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.governor = governor;
+        this.properties = applicationProperties.getMetricsGovernor();
+    }
+
+    @ReadOperation
+    public List<MeterCardinality> topMeters(@Nullable Integer limit) {
+        Map<String, MeterCardinality> byName = new HashMap<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            byName.computeIfAbsent(meter.getId().getName(), MeterCardinality::new).add(meter);
+        }
+        Map<String, Long> collapsed = governor.getCollapsedByMeter();
+        byName.values().forEach(cardinality -> cardinality.collapsed = collapsed.getOrDefault(cardinality.name, 0L));
+        return byName
+            .values()
+            .stream()
+            .sorted(Comparator.comparingLong(MeterCardinality::getSeries).reversed())
+            .limit(limit != null ? limit : properties.getTopN())
+            .collect(Collectors.toList());
+    }
+
+    public static class MeterCardinality {
+
+        private final String name;
+
+        private long meters;
+
+        private long series;
+
+        private boolean histogram;
+
+        private long collapsed;
+
+        MeterCardinality(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Count the series of a meter: one per measurement, plus one per histogram bucket and percentile.
+         */
+        void add(Meter meter) {
+            meters++;
+            for (Measurement ignored : meter.measure()) {
+                series++;
+            }
+            if (meter instanceof HistogramSupport) {
+                HistogramSnapshot snapshot = ((HistogramSupport) meter).takeSnapshot();
+                series += snapshot.histogramCounts().length + snapshot.percentileValues().length;
+                histogram |= snapshot.histogramCounts().length > 0;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getMeters() {
+            return meters;
+        }
+
+        public long getSeries() {
+            return series;
+        }
+
+        public boolean isHistogram() {
+            return histogram;
+        }
+
+        public long getCollapsed() {
+            return collapsed;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mycompany.myapp.config.tracing;
+
+/**
+ * A timed operation of a {@link Trace}: a REST, service or repository method, a JDBC statement or an async task.
+ */
+public class Span {
+
+    public static final String REQUEST = "request";
+
+    public static final String RESOURCE = "resource";
+
+    public static final String SERVICE = "service";
+
+    public static final String REPOSITORY = "repository";
+
+    public static final String JDBC = "jdbc";
+
+    public static final String ASYNC = "async";
+
+    private final Trace trace;
+
+    private final int id;
+
+    private final Span parent;
+
+    private final String kind;
+
+    private final String name;
+
+    private final String thread;
+
+    private final long startNanos;
+
+    private volatile long durationNanos = -1;
+
+    Span(Trace trace, int id, Span parent, String kind, String name, long startNanos) {
+        this.trace = trace;
+        this.id = id;
+        this.parent = parent;
+        this.kind = kind;
+        this.name = name;
+        this.thread = Thread.currentThread().getName();
+        this.startNanos = startNanos;
+    }
+
+    Trace trace() {
+        return trace;
+    }
+
+    Span parent() {
+        return parent;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long durationNanos() {
+        return durationNanos;
+    }
+
+    void end(long endNanos) {
+        durationNanos = endNanos - startNanos;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Integer getParentId() {
+        return parent != null ? parent.id : null;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    /**
+     * @return the start of the span since the start of its trace, in milliseconds.
+     */
+    public double getOffsetMs() {
+        return (startNanos - trace.startNanos()) / 1_000_000.0;
+    }
+
+    /**
+     * @return the duration of the span in milliseconds, or -1 if it has not ended yet.
+     */
+    public double getDurationMs() {
+        return durationNanos < 0 ? -1 : durationNanos / 1_000_000.0;
+    }
+}
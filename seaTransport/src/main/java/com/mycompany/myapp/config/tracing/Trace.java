@@ -0,0 +1,150 @@
+package com.mycompany.myapp.config.tracing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The spans of a request, the first one being the request itself. The number of spans is bounded: further spans are
+ * only counted as dropped.
+ */
+public class Trace {
+
+    private final String id = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private final long startEpochMs = System.currentTimeMillis();
+
+    private final int maxSpans;
+
+    private final List<Span> spans = new ArrayList<>();
+
+    private final Span root;
+
+    private int droppedSpans;
+
+    private int pendingTasks;
+
+    private String name;
+
+    private int status;
+
+    Trace(String name, int maxSpans) {
+        this.name = name;
+        this.maxSpans = maxSpans;
+        this.root = new Span(this, 0, null, Span.REQUEST, name, System.nanoTime());
+        spans.add(root);
+    }
+
+    /**
+     * @return the new span, or null if the trace has too many spans already.
+     */
+    synchronized Span addSpan(Span parent, String kind, String name, long startNanos) {
+        if (spans.size() >= maxSpans) {
+            droppedSpans++;
+            return null;
+        }
+        Span span = new Span(this, spans.size(), parent, kind, name, startNanos);
+        spans.add(span);
+        return span;
+    }
+
+    /**
+     * Count a task wrapped to run in this trace, until {@link #taskEnded()}.
+     */
+    synchronized void taskWrapped() {
+        pendingTasks++;
+    }
+
+    synchronized void taskEnded() {
+        pendingTasks--;
+    }
+
+    /**
+     * @return whether every span has ended, and no async task of the trace is still to run.
+     */
+    synchronized boolean isComplete() {
+        if (pendingTasks > 0) {
+            return false;
+        }
+        for (Span span : spans) {
+            if (span.durationNanos() < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Span root() {
+        return root;
+    }
+
+    long startNanos() {
+        return root.startNanos();
+    }
+
+    /**
+     * Name the trace once the request is handled, as the URI template of its endpoint is known only then.
+     */
+    void complete(String name, int status) {
+        this.name = name;
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getStartEpochMs() {
+        return startEpochMs;
+    }
+
+    public long getEndEpochMs() {
+        return startEpochMs + (long) Math.max(0, getDurationMs());
+    }
+
+    public double getDurationMs() {
+        return root.getDurationMs();
+    }
+
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public synchronized int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    /**
+     * Sum the self time of the spans by kind, a span's self time being its duration without the duration of its
+     * children. Spans of other threads, such as async tasks, are left out of the self time of their parent.
+     *
+     * @return the self time in milliseconds by kind of span.
+     */
+    public synchronized Map<String, Double> getSelfTimeMsByKind() {
+        Map<Span, Long> childrenNanos = new HashMap<>();
+        for (Span span : spans) {
+            if (span.parent() != null && span.durationNanos() >= 0 && span.getThread().equals(span.parent().getThread())) {
+                childrenNanos.merge(span.parent(), span.durationNanos(), Long::sum);
+            }
+        }
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Span span : spans) {
+            if (span.durationNanos() >= 0) {
+                long selfNanos = Math.max(0, span.durationNanos() - childrenNanos.getOrDefault(span, 0L));
+                result.merge(span.getKind(), selfNanos / 1_000_000.0, Double::sum);
+            }
+        }
+        return result;
+    }
+}
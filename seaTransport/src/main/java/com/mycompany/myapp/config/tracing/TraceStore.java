@@ -0,0 +1,145 @@
+package com.mycompany.myapp.config.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the last completed traces in a ring buffer, overwriting the oldest ones.
+ * <p>
+ * When a file is configured, traces are also appended to it as JSON lines by a background thread, so that requests
+ * never wait on the disk: traces are dropped when the thread lags behind. A trace is only appended once its async tasks
+ * have ended, or after a grace period, so that the file does not keep spans which were still running.
+ * <p>
+ * A capacity of zero keeps no trace in memory.
+ */
+public class TraceStore {
+
+    private static final long INCOMPLETE_TRACE_GRACE_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final Logger log = LoggerFactory.getLogger(TraceStore.class);
+
+    private final AtomicReferenceArray<Trace> traces;
+
+    private final AtomicLong added = new AtomicLong();
+
+    private final BlockingQueue<Trace> fileQueue;
+
+    private final Thread fileWriter;
+
+    public TraceStore(ApplicationProperties applicationProperties, ObjectMapper objectMapper) {
+        ApplicationProperties.Tracing properties = applicationProperties.getTracing();
+        this.traces = new AtomicReferenceArray<>(Math.max(0, properties.getCapacity()));
+        if (properties.getFile() != null) {
+            int queueCapacity = Math.max(1, properties.getCapacity());
+            fileQueue = new ArrayBlockingQueue<>(queueCapacity);
+            fileWriter =
+                new Thread(() -> appendTraces(Paths.get(properties.getFile()), objectMapper, queueCapacity), "trace-file-writer");
+            fileWriter.setDaemon(true);
+            fileWriter.start();
+        } else {
+            fileQueue = null;
+            fileWriter = null;
+        }
+    }
+
+    public void add(Trace trace) {
+        if (traces.length() > 0) {
+            traces.set((int) (added.getAndIncrement() % traces.length()), trace);
+        }
+        if (fileQueue != null) {
+            fileQueue.offer(trace);
+        }
+    }
+
+    /**
+     * @param sinceEpochMs the oldest end of the traces.
+     * @param limit the maximum number of traces.
+     * @return the slowest traces ended since the given time, the slowest first.
+     */
+    public List<Trace> getSlowestTraces(long sinceEpochMs, int limit) {
+        return snapshot()
+            .stream()
+            .filter(trace -> trace.getEndEpochMs() >= sinceEpochMs)
+            .sorted(Comparator.comparingDouble(Trace::getDurationMs).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    public Trace getTrace(String id) {
+        return snapshot().stream().filter(trace -> trace.getId().equals(id)).findFirst().orElse(null);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (fileWriter != null) {
+            fileWriter.interrupt();
+        }
+    }
+
+    private List<Trace> snapshot() {
+        List<Trace> result = new ArrayList<>(traces.length());
+        for (int i = 0; i < traces.length(); i++) {
+            Trace trace = traces.get(i);
+            if (trace != null) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    private void appendTraces(Path file, ObjectMapper objectMapper, int maxPending) {
+        List<Trace> pending = new ArrayList<>();
+        try (
+            Writer writer = Files.newBufferedWriter(
+                file,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND
+            )
+        ) {
+            while (!Thread.currentThread().isInterrupted()) {
+                Trace trace = fileQueue.poll(1, TimeUnit.SECONDS);
+                if (trace != null) {
+                    pending.add(trace);
+                }
+                long expired = System.currentTimeMillis() - INCOMPLETE_TRACE_GRACE_MS;
+                for (Iterator<Trace> iterator = pending.iterator(); iterator.hasNext();) {
+                    Trace candidate = iterator.next();
+                    // The oldest trace is written anyway when too many are pending
+                    if (candidate.isComplete() || candidate.getEndEpochMs() < expired || pending.size() > maxPending) {
+                        iterator.remove();
+                        writer.write(objectMapper.writeValueAsString(candidate));
+                        writer.write('\n');
+                    }
+                }
+                if (trace == null) {
+                    writer.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not append traces to {}: {}", file, e.getMessage());
+        }
+    }
+}
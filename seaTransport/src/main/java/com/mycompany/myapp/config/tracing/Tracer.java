@@ -0,0 +1,140 @@
+package com.mycompany.myapp.config.tracing;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records the spans of the sampled requests, the current span of each thread being held in a thread local.
+ * <p>
+ * Outside of a sampled request, starting a span returns null and costs a thread-local read, so that the code
+ * around a span never checks whether the request is traced. Completed traces go to the {@link TraceStore}.
+ */
+public class Tracer {
+
+    private final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+
+    private final TraceStore traceStore;
+
+    private final int sampleOneIn;
+
+    private final int maxSpansPerTrace;
+
+    public Tracer(ApplicationProperties applicationProperties, TraceStore traceStore) {
+        this.traceStore = traceStore;
+        this.sampleOneIn = Math.max(1, applicationProperties.getTracing().getSampleOneIn());
+        this.maxSpansPerTrace = applicationProperties.getTracing().getMaxSpansPerTrace();
+    }
+
+    /**
+     * Start the trace of a request on the current thread, if it is sampled.
+     *
+     * @param name the name of the request, until it is completed.
+     * @return the root span of the trace, or null if the request is not sampled.
+     */
+    public Span startTrace(String name) {
+        if (sampleOneIn > 1 && ThreadLocalRandom.current().nextInt(sampleOneIn) != 0) {
+            return null;
+        }
+        Span root = new Trace(name, maxSpansPerTrace).root();
+        currentSpan.set(root);
+        return root;
+    }
+
+    /**
+     * End the trace of a request and store it.
+     *
+     * @param root the root span returned by {@link #startTrace(String)}, may be null.
+     * @param name the name of the request, for instance its method and the URI template of its endpoint.
+     * @param status the HTTP status of the response.
+     */
+    public void endTrace(Span root, String name, int status) {
+        if (root == null) {
+            return;
+        }
+        root.end(System.nanoTime());
+        currentSpan.remove();
+        root.trace().complete(name, status);
+        traceStore.add(root.trace());
+    }
+
+    /**
+     * @return whether the current thread is in a traced request.
+     */
+    public boolean isTracing() {
+        return currentSpan.get() != null;
+    }
+
+    /**
+     * Start a child span of the current span, which becomes the current span.
+     *
+     * @return the span, to be given to {@link #endSpan(Span)}, or null if the current thread is not traced.
+     */
+    public Span startSpan(String kind, String name) {
+        Span parent = currentSpan.get();
+        if (parent == null) {
+            return null;
+        }
+        Span span = parent.trace().addSpan(parent, kind, name, System.nanoTime());
+        if (span != null) {
+            currentSpan.set(span);
+        }
+        return span;
+    }
+
+    /**
+     * End a span started by {@link #startSpan(String, String)}, its parent becoming the current span again.
+     *
+     * @param span the span, may be null.
+     */
+    public void endSpan(Span span) {
+        if (span == null) {
+            return;
+        }
+        span.end(System.nanoTime());
+        currentSpan.set(span.parent());
+    }
+
+    /**
+     * Record a child span of the current span which has already ended, for instance a JDBC statement.
+     */
+    public void recordSpan(String kind, String name, long durationNanos) {
+        Span parent = currentSpan.get();
+        if (parent == null) {
+            return;
+        }
+        long end = System.nanoTime();
+        Span span = parent.trace().addSpan(parent, kind, name, end - durationNanos);
+        if (span != null) {
+            span.end(end);
+        }
+    }
+
+    /**
+     * Wrap a task, so that it runs in a span of the current trace, whichever thread runs it.
+     */
+    public Runnable wrap(Runnable task, String name) {
+        Span parent = currentSpan.get();
+        if (parent == null) {
+            return task;
+        }
+        parent.trace().taskWrapped();
+        return () -> {
+            Span previous = currentSpan.get();
+            Span span = parent.trace().addSpan(parent, Span.ASYNC, name, System.nanoTime());
+            currentSpan.set(span != null ? span : parent);
+            try {
+                task.run();
+            } finally {
+                if (span != null) {
+                    span.end(System.nanoTime());
+                }
+                parent.trace().taskEnded();
+                if (previous != null) {
+                    currentSpan.set(previous);
+                } else {
+                    currentSpan.remove();
+                }
+            }
+        };
+    }
+}
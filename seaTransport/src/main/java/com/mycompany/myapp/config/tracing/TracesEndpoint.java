@@ -0,0 +1,37 @@
+package com.mycompany.myapp.config.tracing;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /management/traces} : the slowest requests traced over the last {@code minutes}, with their spans and their
+ * self time by kind of span. {@code /management/traces/{id}} returns a single trace.
+ */
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private final TraceStore traceStore;
+
+    private final ApplicationProperties.Tracing properties;
+
+    public TracesEndpoint(TraceStore traceStore, ApplicationProperties applicationProperties) {
+        this.traceStore = traceStore;
+        this.properties = applicationProperties.getTracing();
+    }
+
+    @ReadOperation
+    public List<Trace> slowestTraces(@Nullable Integer minutes, @Nullable Integer limit) {
+        long since = System.currentTimeMillis() - Duration.ofMinutes(minutes != null ? minutes : properties.getMinutes()).toMillis();
+        return traceStore.getSlowestTraces(since, limit != null ? limit : properties.getTopN());
+    }
+
+    @ReadOperation
+    public Trace trace(@Selector String id) {
+        return traceStore.getTrace(id);
+    }
+}
@@ -0,0 +1,24 @@
+package com.mycompany.myapp.config.tracing;
+
+import com.mycompany.myapp.config.jdbc.SqlStatementMetrics;
+import com.mycompany.myapp.config.jdbc.StatementListener;
+
+/**
+ * Records every JDBC statement of a traced request as a span, named after its SQL without literal values.
+ */
+public class TracingStatementListener implements StatementListener {
+
+    private static final int MAX_SQL_LENGTH = 200;
+
+    private final Tracer tracer;
+
+    public TracingStatementListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void record(String sql, boolean prepared, long nanos) {
+        String name = prepared ? sql : SqlStatementMetrics.withoutLiterals(sql);
+        tracer.recordSpan(Span.JDBC, name.length() > MAX_SQL_LENGTH ? name.substring(0, MAX_SQL_LENGTH) : name, nanos);
+    }
+}
@@ -0,0 +1,20 @@
+package com.mycompany.myapp.config.tracing;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Runs the tasks submitted to an executor from a traced request in a span of its trace.
+ */
+public class TracingTaskDecorator implements TaskDecorator {
+
+    private final Tracer tracer;
+
+    public TracingTaskDecorator(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return tracer.wrap(runnable, "task");
+    }
+}
@@ -0,0 +1,101 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * The lock of a scheduled job which must run on a single instance at a time.
+ * <p>
+ * The lock is held by an instance until {@code lockedUntil}, after which any instance can take it.
+ */
+@Entity
+@Table(name = "scheduler_lock")
+public class SchedulerLock implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 64)
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @NotNull
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @NotNull
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "locked_by", length = 255, nullable = false)
+    private String lockedBy;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public Instant getLockedAt() {
+        return lockedAt;
+    }
+
+    public void setLockedAt(Instant lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SchedulerLock)) {
+            return false;
+        }
+        return Objects.equals(name, ((SchedulerLock) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SchedulerLock{" +
+            "name='" + name + '\'' +
+            ", lockedUntil='" + lockedUntil + "'" +
+            ", lockedAt='" + lockedAt + "'" +
+            ", lockedBy='" + lockedBy + '\'' +
+            "}";
+    }
+}
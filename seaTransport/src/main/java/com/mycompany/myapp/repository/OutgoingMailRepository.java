@@ -0,0 +1,27 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.OutgoingMail;
+import java.time.Instant;
+import java.util.List;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link OutgoingMail} entity.
+ */
+@Repository
+public interface OutgoingMailRepository extends JpaRepository<OutgoingMail, Long> {
+    /**
+     * Lock the due emails, skipping those locked by another transaction ({@code SELECT ... FOR UPDATE SKIP LOCKED}
+     * where the database supports it), so that concurrent dispatchers claim distinct emails.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "" + LockOptions.SKIP_LOCKED))
+    List<OutgoingMail> findAllByNextAttemptAtLessThanEqual(Instant now, Pageable pageable);
+}
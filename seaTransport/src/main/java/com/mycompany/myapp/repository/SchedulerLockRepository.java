@@ -0,0 +1,37 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.SchedulerLock;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Spring Data JPA repository for the {@link SchedulerLock} entity.
+ */
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+    @Modifying
+    @Query(
+        "update SchedulerLock l set l.lockedUntil = :lockedUntil, l.lockedAt = :now, l.lockedBy = :lockedBy " +
+        "where l.name = :name and l.lockedUntil <= :now"
+    )
+    int lockIfExpired(
+        @Param("name") String name,
+        @Param("now") Instant now,
+        @Param("lockedUntil") Instant lockedUntil,
+        @Param("lockedBy") String lockedBy
+    );
+
+    @Modifying
+    @Query(
+        "update SchedulerLock l set l.lockedUntil = :lockedUntil " +
+        "where l.name = :name and l.lockedBy = :lockedBy and l.lockedAt = :lockedAt"
+    )
+    int unlock(
+        @Param("name") String name,
+        @Param("lockedAt") Instant lockedAt,
+        @Param("lockedBy") String lockedBy,
+        @Param("lockedUntil") Instant lockedUntil
+    );
+}
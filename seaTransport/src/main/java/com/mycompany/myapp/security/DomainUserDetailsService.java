@@ -25,8 +25,11 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final PrincipalLookupCache principalLookupCache;
+
+    public DomainUserDetailsService(UserRepository userRepository, PrincipalLookupCache principalLookupCache) {
         this.userRepository = userRepository;
+        this.principalLookupCache = principalLookupCache;
     }
 
     @Override
@@ -35,17 +38,33 @@ public class DomainUserDetailsService implements UserDetailsService {
         log.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
+            if (principalLookupCache.isUnknownEmail(login)) {
+                throw new UsernameNotFoundException("User with email " + login + " is unknown");
+            }
             return userRepository
                 .findOneWithAuthoritiesByEmailIgnoreCase(login)
                 .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+                .orElseThrow(
+                    () -> {
+                        principalLookupCache.recordUnknownEmail(login);
+                        return new UsernameNotFoundException("User with email " + login + " was not found in the database");
+                    }
+                );
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        if (principalLookupCache.isUnknownLogin(lowercaseLogin)) {
+            throw new UsernameNotFoundException("User " + lowercaseLogin + " is unknown");
+        }
         return userRepository
             .findOneWithAuthoritiesByLogin(lowercaseLogin)
             .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+            .orElseThrow(
+                () -> {
+                    principalLookupCache.recordUnknownLogin(lowercaseLogin);
+                    return new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database");
+                }
+            );
     }
 
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
@@ -0,0 +1,14 @@
+package com.mycompany.myapp.security;
+
+/**
+ * This exception is thrown when a password cannot be hashed or checked because the password hashing executor is
+ * saturated.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
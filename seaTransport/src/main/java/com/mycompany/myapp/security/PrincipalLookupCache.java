@@ -0,0 +1,177 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rejects lookups of unknown logins and emails without loading the user.
+ * <p>
+ * Two layers are used:
+ * <ul>
+ * <li>a short-lived, bounded cache of the logins and emails recently found to be unknown. It is only a hint: a hit is
+ * checked with an existence query, so that a user created or renamed on another instance is found;</li>
+ * <li>optionally, a Bloom filter of every known login and email, rebuilt at startup and every night. A principal that
+ * is not in the filter is rejected without any database lookup.</li>
+ * </ul>
+ * Both layers are local to the instance, and {@link #refresh(User)} only refreshes them on the instance which created or
+ * renamed the user. The Bloom filter must therefore only be enabled on a single instance deployment: elsewhere, the
+ * users created on another instance are rejected until the next rebuild. Deleted users cannot be removed from the
+ * Bloom filter: they keep hitting the database until the next rebuild.
+ */
+@Component
+public class PrincipalLookupCache {
+
+    private static final String LOGIN_PREFIX = "login:";
+
+    private static final String EMAIL_PREFIX = "email:";
+
+    private final Logger log = LoggerFactory.getLogger(PrincipalLookupCache.class);
+
+    private final UserRepository userRepository;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationProperties.Security.PrincipalLookup.BloomFilter bloomFilterProperties;
+
+    private final Counter rejectedByBloomFilter;
+
+    private final Counter rejectedByNegativeCache;
+
+    private volatile BloomFilter knownPrincipals;
+
+    private volatile BloomFilter rebuildingPrincipals;
+
+    public PrincipalLookupCache(
+        UserRepository userRepository,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.bloomFilterProperties = applicationProperties.getSecurity().getPrincipalLookup().getBloomFilter();
+        this.rejectedByBloomFilter = meterRegistry.counter("security.principal.lookup.rejected", "layer", "bloom-filter");
+        this.rejectedByNegativeCache = meterRegistry.counter("security.principal.lookup.rejected", "layer", "negative-cache");
+    }
+
+    /**
+     * Check whether a login is known not to exist.
+     *
+     * @param login the lowercase login.
+     * @return {@code true} if no user has this login, {@code false} if the user must be loaded.
+     */
+    public boolean isUnknownLogin(String login) {
+        return isUnknown(LOGIN_PREFIX, login, userRepository::existsByLogin);
+    }
+
+    /**
+     * Check whether an email is known not to exist.
+     *
+     * @param email the email, in any case.
+     * @return {@code true} if no user has this email, {@code false} if the user must be loaded.
+     */
+    public boolean isUnknownEmail(String email) {
+        return isUnknown(EMAIL_PREFIX, email.toLowerCase(Locale.ENGLISH), userRepository::existsByEmailIgnoreCase);
+    }
+
+    public void recordUnknownLogin(String login) {
+        unknownUsersCache().put(LOGIN_PREFIX + login, Boolean.TRUE);
+    }
+
+    public void recordUnknownEmail(String email) {
+        unknownUsersCache().put(EMAIL_PREFIX + email.toLowerCase(Locale.ENGLISH), Boolean.TRUE);
+    }
+
+    /**
+     * Make the login and email of a created or updated user known again.
+     *
+     * @param user the user.
+     */
+    public void refresh(User user) {
+        Cache unknownUsers = unknownUsersCache();
+        unknownUsers.evict(LOGIN_PREFIX + user.getLogin());
+        putKnown(LOGIN_PREFIX + user.getLogin());
+        if (user.getEmail() != null) {
+            String email = user.getEmail().toLowerCase(Locale.ENGLISH);
+            unknownUsers.evict(EMAIL_PREFIX + email);
+            putKnown(EMAIL_PREFIX + email);
+        }
+    }
+
+    /**
+     * Rebuild the Bloom filter of known principals from the database.
+     * <p>
+     * This is scheduled to get fired at startup and everyday at 01:30 (am), after the removal of not activated users.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 1 * * ?")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!bloomFilterProperties.isEnabled()) {
+            return;
+        }
+        long expectedInsertions = Math.max(bloomFilterProperties.getExpectedInsertions(), 2 * userRepository.count());
+        // Each user contributes both a login and an email
+        BloomFilter rebuilt = new BloomFilter(2 * expectedInsertions, bloomFilterProperties.getFalsePositiveProbability());
+        // Users created while the filter is rebuilt are added to both filters, see putKnown
+        rebuildingPrincipals = rebuilt;
+        try (Stream<String> logins = userRepository.streamAllLogins(); Stream<String> emails = userRepository.streamAllEmails()) {
+            logins.forEach(login -> rebuilt.put(LOGIN_PREFIX + login));
+            emails.forEach(email -> rebuilt.put(EMAIL_PREFIX + email.toLowerCase(Locale.ENGLISH)));
+            knownPrincipals = rebuilt;
+            log.debug("Rebuilt the Bloom filter of known principals, sized for {} users", expectedInsertions);
+        } finally {
+            rebuildingPrincipals = null;
+        }
+    }
+
+    private boolean isUnknown(String prefix, String principal, Predicate<String> exists) {
+        BloomFilter filter = knownPrincipals;
+        if (filter != null && !filter.mightContain(prefix + principal)) {
+            rejectedByBloomFilter.increment();
+            return true;
+        }
+        Cache unknownUsers = unknownUsersCache();
+        if (unknownUsers.get(prefix + principal) == null) {
+            return false;
+        }
+        if (exists.test(principal)) {
+            // Created or renamed on another instance since it was found to be unknown
+            unknownUsers.evict(prefix + principal);
+            return false;
+        }
+        rejectedByNegativeCache.increment();
+        return true;
+    }
+
+    private void putKnown(String principal) {
+        BloomFilter filter = knownPrincipals;
+        if (filter != null) {
+            filter.put(principal);
+        }
+        BloomFilter rebuilding = rebuildingPrincipals;
+        if (rebuilding != null) {
+            rebuilding.put(principal);
+        }
+    }
+
+    private Cache unknownUsersCache() {
+        return Objects.requireNonNull(cacheManager.getCache(UserRepository.UNKNOWN_USERS_CACHE));
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.security.jwt;
 
+import com.mycompany.myapp.web.filter.RateLimitFilter;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.DefaultSecurityFilterChain;
@@ -9,13 +10,36 @@ public class JWTConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilt
 
     private final TokenProvider tokenProvider;
 
-    public JWTConfigurer(TokenProvider tokenProvider) {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    private final RateLimitFilter rateLimitFilter;
+
+    /**
+     * @param tokenProvider the token provider.
+     * @param verifiedTokenCache the cache of verified tokens.
+     * @param tokenRevocationStore the store of revoked tokens.
+     * @param rateLimitFilter the filter limiting the rate of requests once their user is known, or {@code null}.
+     */
+    public JWTConfigurer(
+        TokenProvider tokenProvider,
+        VerifiedTokenCache verifiedTokenCache,
+        TokenRevocationStore tokenRevocationStore,
+        RateLimitFilter rateLimitFilter
+    ) {
         this.tokenProvider = tokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Override
     public void configure(HttpSecurity http) {
-        JWTFilter customFilter = new JWTFilter(tokenProvider);
+        JWTFilter customFilter = new JWTFilter(tokenProvider, verifiedTokenCache, tokenRevocationStore);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
+        if (rateLimitFilter != null) {
+            http.addFilterAfter(rateLimitFilter, JWTFilter.class);
+        }
     }
 }
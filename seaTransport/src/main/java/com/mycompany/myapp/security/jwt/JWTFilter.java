@@ -1,6 +1,9 @@
 package com.mycompany.myapp.security.jwt;
 
+import com.mycompany.myapp.security.jwt.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.Claims;
 import java.io.IOException;
+import java.util.Optional;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
@@ -14,6 +17,10 @@ import org.springframework.web.filter.GenericFilterBean;
 /**
  * Filters incoming requests and installs a Spring Security principal if a header corresponding to a valid user is
  * found.
+ * <p>
+ * A token is verified and parsed in a single pass, and its authentication is then served from the
+ * {@link VerifiedTokenCache} until the token expires. Revoked tokens are rejected on every request, see
+ * {@link TokenRevocationStore}.
  */
 public class JWTFilter extends GenericFilterBean {
 
@@ -21,8 +28,14 @@ public class JWTFilter extends GenericFilterBean {
 
     private final TokenProvider tokenProvider;
 
-    public JWTFilter(TokenProvider tokenProvider) {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    public JWTFilter(TokenProvider tokenProvider, VerifiedTokenCache verifiedTokenCache, TokenRevocationStore tokenRevocationStore) {
         this.tokenProvider = tokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationStore = tokenRevocationStore;
     }
 
     @Override
@@ -30,13 +43,32 @@ public class JWTFilter extends GenericFilterBean {
         throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String jwt = resolveToken(httpServletRequest);
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            Authentication authentication = this.tokenProvider.getAuthentication(jwt);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(jwt)) {
+            Authentication authentication = resolveAuthentication(jwt);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
+    private Authentication resolveAuthentication(String jwt) {
+        VerifiedToken verifiedToken = verifiedTokenCache.get(jwt);
+        if (verifiedToken == null) {
+            Optional<Claims> claims = tokenProvider.parseClaims(jwt);
+            if (claims.isEmpty()) {
+                return null;
+            }
+            Authentication authentication = tokenProvider.getAuthentication(claims.get(), jwt);
+            verifiedToken = new VerifiedToken(authentication, claims.get().getId(), claims.get().getExpiration());
+            verifiedTokenCache.put(jwt, verifiedToken);
+        }
+        if (tokenRevocationStore.isRevoked(verifiedToken.getId())) {
+            return null;
+        }
+        return verifiedToken.getAuthentication();
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
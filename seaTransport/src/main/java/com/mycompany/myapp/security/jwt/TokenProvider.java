@@ -1,5 +1,6 @@
 package com.mycompany.myapp.security.jwt;
 
+import com.mycompany.myapp.config.jfr.TokenValidationEvent;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -66,6 +67,7 @@ public class TokenProvider {
 
         return Jwts
             .builder()
+            .setId(UUID.randomUUID().toString())
             .setSubject(authentication.getName())
             .claim(AUTHORITIES_KEY, authorities)
             .signWith(key, SignatureAlgorithm.HS512)
@@ -74,8 +76,17 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return getAuthentication(jwtParser.parseClaimsJws(token).getBody(), token);
+    }
 
+    /**
+     * Build the authentication of a token from its already verified claims.
+     *
+     * @param claims the claims returned by {@link #parseClaims(String)}.
+     * @param token the token.
+     * @return the authentication.
+     */
+    public Authentication getAuthentication(Claims claims, String token) {
         Collection<? extends GrantedAuthority> authorities = Arrays
             .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
             .filter(auth -> !auth.trim().isEmpty())
@@ -88,13 +99,30 @@ public class TokenProvider {
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    /**
+     * Verify a token and return its claims, so that it is parsed only once.
+     *
+     * @param authToken the token.
+     * @return the claims, or empty if the token is invalid.
+     */
+    public Optional<Claims> parseClaims(String authToken) {
+        TokenValidationEvent event = new TokenValidationEvent();
+        event.begin();
+        Optional<Claims> claims = Optional.empty();
         try {
-            jwtParser.parseClaimsJws(authToken);
-            return true;
+            claims = Optional.of(jwtParser.parseClaimsJws(authToken).getBody());
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", e);
         }
-        return false;
+        event.end();
+        if (event.shouldCommit()) {
+            event.setValid(claims.isPresent());
+            event.commit();
+        }
+        return claims;
     }
 }
@@ -0,0 +1,164 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.RevokedToken;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import com.mycompany.myapp.security.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Store of revoked JWT token ids ({@code jti} claims).
+ * <p>
+ * Revocations are persisted, and each instance keeps the ids of the revoked tokens which have not expired yet in
+ * memory: a Bloom filter answers most checks with a few hashes, and only the ids it might contain are looked up in the
+ * exact set. Instances pick up the revocations made by the others by polling the recently revoked ids, which is a small
+ * indexed query. Expired ids are pruned every hour, as expired tokens are rejected anyway.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final ApplicationProperties.Security.TokenRevocation properties;
+
+    private final ConcurrentMap<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+    private final Counter rejected;
+
+    private volatile BloomFilter bloomFilter;
+
+    private long bloomFilterCapacity;
+
+    private volatile Instant lastSynchronization = Instant.EPOCH;
+
+    private final Clock clock;
+
+    public TokenRevocationStore(
+        RevokedTokenRepository revokedTokenRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.properties = applicationProperties.getSecurity().getTokenRevocation();
+        this.rejected = meterRegistry.counter("security.jwt.revoked.rejected");
+        this.clock = clock;
+        meterRegistry.gaugeMapSize("security.jwt.revoked", Collections.emptyList(), revokedTokens);
+        rebuildBloomFilter(properties.getExpectedRevocations());
+    }
+
+    /**
+     * Check whether a token was revoked.
+     *
+     * @param jti the id of the token, {@code null} for tokens issued without one.
+     * @return {@code true} if the token was revoked.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        if (revokedTokens.containsKey(jti)) {
+            rejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revoke a token until it expires.
+     *
+     * @param jti the id of the token.
+     * @param expiresAt the expiration of the token.
+     */
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        log.debug("Revoking token {}", jti);
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(jti);
+        revokedToken.setExpiresAt(expiresAt);
+        revokedToken.setRevokedAt(clock.instant());
+        revokedTokenRepository.save(revokedToken);
+        add(jti, expiresAt);
+    }
+
+    /**
+     * Load the tokens revoked and not yet expired at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        Instant now = clock.instant();
+        revokedTokenRepository.findAllByExpiresAtAfter(now).forEach(token -> add(token.getJti(), token.getExpiresAt()));
+        lastSynchronization = now;
+        log.debug("Loaded {} revoked tokens", revokedTokens.size());
+    }
+
+    /**
+     * Pick up the tokens revoked by other instances.
+     * <p>
+     * The polling window overlaps the previous one, so revocations committed late or stamped by a clock running late
+     * are not missed.
+     */
+    @Scheduled(
+        initialDelayString = "${application.security.token-revocation.synchronization-interval-ms:10000}",
+        fixedDelayString = "${application.security.token-revocation.synchronization-interval-ms:10000}"
+    )
+    @Transactional(readOnly = true)
+    public void synchronize() {
+        Instant now = clock.instant();
+        Instant since = lastSynchronization.minusSeconds(properties.getSynchronizationOverlapSeconds());
+        revokedTokenRepository
+            .findAllByRevokedAtAfterAndExpiresAtAfter(since, now)
+            .forEach(token -> add(token.getJti(), token.getExpiresAt()));
+        lastSynchronization = now;
+    }
+
+    /**
+     * Remove the expired tokens, from the database and from memory.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(cron = "0 15 * * * ?")
+    @Transactional
+    public void prune() {
+        Instant now = clock.instant();
+        int deleted = revokedTokenRepository.deleteAllExpired(now);
+        revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        rebuildBloomFilter(Math.max(properties.getExpectedRevocations(), 2L * revokedTokens.size()));
+        log.debug("Pruned {} expired revoked tokens, {} remaining", deleted, revokedTokens.size());
+    }
+
+    private synchronized void add(String jti, Instant expiresAt) {
+        if (revokedTokens.putIfAbsent(jti, expiresAt) != null) {
+            return;
+        }
+        if (revokedTokens.size() > bloomFilterCapacity) {
+            // Past its capacity, the false positive probability of the filter grows quickly
+            rebuildBloomFilter(2 * bloomFilterCapacity);
+        } else {
+            bloomFilter.put(jti);
+        }
+    }
+
+    private synchronized void rebuildBloomFilter(long capacity) {
+        BloomFilter rebuilt = new BloomFilter(capacity, properties.getFalsePositiveProbability());
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomFilterCapacity = capacity;
+        bloomFilter = rebuilt;
+    }
+}
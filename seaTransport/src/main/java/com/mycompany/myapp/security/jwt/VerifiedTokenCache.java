@@ -0,0 +1,159 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of the authentications of already verified JWT tokens, so that the signature of a token is checked
+ * and its claims are parsed once, rather than on every request.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token and expire at the {@code exp} claim of the token, so a cached
+ * authentication can never outlive its token. Tokens without an expiration are not cached. When the cache is full,
+ * expired entries are purged, at most once per second, then an arbitrary entry is evicted for each new token: as keys
+ * are digests, the first entry in iteration order is a random token.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(
+        () -> {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    );
+
+    private static final long PURGE_INTERVAL_MS = 1000;
+
+    private final ConcurrentMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextPurgeAt = new AtomicLong(Long.MIN_VALUE);
+
+    private final int maxEntries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    private final Clock clock;
+
+    public VerifiedTokenCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.maxEntries = applicationProperties.getSecurity().getJwtCache().getMaxEntries();
+        this.hits = meterRegistry.counter("security.jwt.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("security.jwt.cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("security.jwt.cache.evictions");
+        this.clock = clock;
+        meterRegistry.gaugeMapSize("security.jwt.cache.entries", Collections.emptyList(), entries);
+    }
+
+    /**
+     * Get a verified token.
+     *
+     * @param token the token.
+     * @return the verified token, or {@code null} if the token is not cached or has expired.
+     */
+    public VerifiedToken get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        VerifiedToken entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= clock.millis()) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * Cache a token which has just been verified.
+     *
+     * @param token the token.
+     * @param verifiedToken the authentication and claims of the token.
+     */
+    public void put(String token, VerifiedToken verifiedToken) {
+        long now = clock.millis();
+        if (maxEntries <= 0 || verifiedToken.expiresAt <= now) {
+            return;
+        }
+        String key = digest(token);
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom(now);
+        }
+        entries.put(key, verifiedToken);
+    }
+
+    private void makeRoom(long now) {
+        long purgeAt = nextPurgeAt.get();
+        if (now >= purgeAt && nextPurgeAt.compareAndSet(purgeAt, now + PURGE_INTERVAL_MS)) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+        Iterator<Map.Entry<String, VerifiedToken>> iterator = entries.entrySet().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * The authentication built from a verified token, with the claims needed to check it again.
+     */
+    public static final class VerifiedToken {
+
+        private final Authentication authentication;
+
+        private final String id;
+
+        private final long expiresAt;
+
+        /**
+         * @param authentication the authentication built from the claims of the token.
+         * @param id the {@code jti} claim of the token, if any.
+         * @param expiration the {@code exp} claim of the token, if any: tokens without one are not cached.
+         */
+        public VerifiedToken(Authentication authentication, String id, Date expiration) {
+            this.authentication = authentication;
+            this.id = id;
+            this.expiresAt = expiration == null ? Long.MIN_VALUE : expiration.getTime();
+        }
+
+        public Authentication getAuthentication() {
+            return authentication;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
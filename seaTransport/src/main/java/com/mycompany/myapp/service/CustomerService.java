@@ -1,5 +1,6 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.aop.coalescing.Coalesced;
 import com.mycompany.myapp.domain.Customer;
 import com.mycompany.myapp.repository.CustomerRepository;
 import java.util.Optional;
@@ -77,6 +78,7 @@ public class CustomerService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<Customer> findAll(Pageable pageable) {
         log.debug("Request to get all Customers");
@@ -89,6 +91,7 @@ public class CustomerService {
      * @param id the id of the entity.
      * @return the entity.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<Customer> findOne(Long id) {
         log.debug("Request to get Customer : {}", id);
@@ -0,0 +1,226 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.aop.scheduling.ClusterSingleton;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.OutgoingMail;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.OutgoingMailRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service queueing the emails of account changes in the {@link OutgoingMail} outbox, and sending them.
+ * <p>
+ * Emails are queued in the transaction of the user change, so they are neither lost on restart nor sent for a change
+ * which was rolled back. They are sent by batches of the same template and language, each over a single connection to
+ * the mail server, and no more than the configured rate. An email which could not be sent is retried with an
+ * exponential backoff.
+ */
+@Service
+public class MailOutboxService {
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private final OutgoingMailRepository outgoingMailRepository;
+
+    private final UserRepository userRepository;
+
+    private final MailService mailService;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter sent;
+
+    private final Counter failed;
+
+    private final Clock clock;
+
+    public MailOutboxService(
+        OutgoingMailRepository outgoingMailRepository,
+        UserRepository userRepository,
+        MailService mailService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.outgoingMailRepository = outgoingMailRepository;
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.properties = applicationProperties.getMailOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sent = meterRegistry.counter("mail.outbox.sent", "result", "sent");
+        this.failed = meterRegistry.counter("mail.outbox.sent", "result", "failed");
+        this.clock = clock;
+    }
+
+    @Transactional
+    public void queueActivationEmail(User user) {
+        queue(user, MailService.ACTIVATION_TEMPLATE, MailService.ACTIVATION_TITLE_KEY);
+    }
+
+    @Transactional
+    public void queueCreationEmail(User user) {
+        queue(user, MailService.CREATION_TEMPLATE, MailService.ACTIVATION_TITLE_KEY);
+    }
+
+    @Transactional
+    public void queuePasswordResetMail(User user) {
+        queue(user, MailService.PASSWORD_RESET_TEMPLATE, MailService.PASSWORD_RESET_TITLE_KEY);
+    }
+
+    private void queue(User user, String templateName, String titleKey) {
+        if (user.getEmail() == null) {
+            log.debug("Email doesn't exist for user '{}'", user.getLogin());
+            return;
+        }
+        log.debug("Queueing email '{}' to '{}'", templateName, user.getEmail());
+        OutgoingMail mail = new OutgoingMail();
+        mail.setUserId(user.getId());
+        mail.setTemplateName(templateName);
+        mail.setTitleKey(titleKey);
+        mail.setCreatedAt(clock.instant());
+        mail.setNextAttemptAt(mail.getCreatedAt());
+        outgoingMailRepository.save(mail);
+    }
+
+    /**
+     * Send the queued emails which are due, up to the configured rate times the dispatch interval.
+     * <p>
+     * Emails are claimed and updated in short transactions, none of them being open while talking to the mail server.
+     * A claimed email is not loaded by another dispatcher, so that no email is sent twice. The lock is kept for most of
+     * the dispatch interval, so that the other instances skip the run instead of each taking the lock in turn.
+     */
+    @Scheduled(
+        initialDelayString = "${application.mail-outbox.dispatch-interval-ms:5000}",
+        fixedDelayString = "${application.mail-outbox.dispatch-interval-ms:5000}"
+    )
+    @ClusterSingleton(lockAtLeastForMs = 4000)
+    public void dispatch() {
+        long budget = Math.max(1, properties.getMessagesPerSecond() * properties.getDispatchIntervalMs() / 1000);
+        while (budget > 0) {
+            int batchSize = (int) Math.min(properties.getBatchSize(), budget);
+            Instant now = clock.instant();
+            Batch batch = transactionTemplate.execute(status -> loadBatch(now, batchSize));
+            if (batch.mails.isEmpty()) {
+                return;
+            }
+            sendBatch(batch, now);
+            budget -= batch.mails.size();
+        }
+    }
+
+    /**
+     * Claim a batch of due emails: they are locked while their next attempt is pushed back by the claim timeout, so
+     * that no other dispatcher loads them while they are sent. An email claimed by a dispatcher which stopped before
+     * sending it is due again after the timeout.
+     */
+    private Batch loadBatch(Instant now, int batchSize) {
+        List<OutgoingMail> mails = outgoingMailRepository.findAllByNextAttemptAtLessThanEqual(
+            now,
+            PageRequest.of(0, batchSize, Sort.by("id"))
+        );
+        Instant claimedUntil = now.plusMillis(properties.getClaimTimeoutMs());
+        mails.forEach(mail -> mail.setNextAttemptAt(claimedUntil));
+        Set<Long> userIds = mails.stream().map(OutgoingMail::getUserId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        return new Batch(mails, users);
+    }
+
+    private void sendBatch(Batch batch, Instant now) {
+        List<OutgoingMail> done = new ArrayList<>();
+        List<OutgoingMail> retried = new ArrayList<>();
+        Map<List<String>, List<OutgoingMail>> groups = new LinkedHashMap<>();
+        for (OutgoingMail mail : batch.mails) {
+            User user = batch.users.get(mail.getUserId());
+            if (user == null || user.getEmail() == null) {
+                // The user was deleted, or has no email anymore
+                done.add(mail);
+            } else {
+                String langKey = user.getLangKey() != null ? user.getLangKey() : Constants.DEFAULT_LANGUAGE;
+                List<String> key = Arrays.asList(mail.getTemplateName(), mail.getTitleKey(), langKey);
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(mail);
+            }
+        }
+        groups.forEach(
+            (key, mails) -> {
+                // By mail, as a user may have several emails of the same template in the batch
+                Map<Long, User> recipients = new LinkedHashMap<>();
+                mails.forEach(mail -> recipients.put(mail.getId(), batch.users.get(mail.getUserId())));
+                Map<Long, Exception> failures = mailService.sendEmailsFromTemplate(
+                    recipients,
+                    Locale.forLanguageTag(key.get(2)),
+                    key.get(0),
+                    key.get(1)
+                );
+                mails.forEach(
+                    mail -> {
+                        Exception failure = failures.get(mail.getId());
+                        if (failure == null) {
+                            done.add(mail);
+                            sent.increment();
+                        } else {
+                            scheduleRetry(mail, failure, now);
+                            retried.add(mail);
+                            failed.increment();
+                        }
+                    }
+                );
+            }
+        );
+        transactionTemplate.execute(
+            status -> {
+                outgoingMailRepository.deleteInBatch(done);
+                outgoingMailRepository.saveAll(retried);
+                return null;
+            }
+        );
+    }
+
+    private void scheduleRetry(OutgoingMail mail, Exception failure, Instant now) {
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setLastError(Objects.toString(failure.getMessage(), failure.getClass().getName()));
+        if (mail.getLastError().length() > 255) {
+            mail.setLastError(mail.getLastError().substring(0, 255));
+        }
+        if (mail.getAttempts() >= properties.getMaxAttempts()) {
+            log.warn("Giving up sending {} after {} attempts", mail, mail.getAttempts(), failure);
+            mail.setNextAttemptAt(null);
+        } else {
+            Duration backoff = Duration.ofMillis(properties.getInitialBackoffMs()).multipliedBy(1L << (mail.getAttempts() - 1));
+            log.debug("Could not send {}, retrying in {}", mail, backoff);
+            mail.setNextAttemptAt(now.plus(backoff));
+        }
+    }
+
+    private static final class Batch {
+
+        private final List<OutgoingMail> mails;
+
+        private final Map<Long, User> users;
+
+        private Batch(List<OutgoingMail> mails, Map<Long, User> users) {
+            this.mails = mails;
+            this.users = users;
+        }
+    }
+}
@@ -2,13 +2,16 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.User;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -20,7 +23,8 @@ import tech.jhipster.config.JHipsterProperties;
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * We use the {@link Async} annotation to send emails asynchronously. The emails of account changes are rather queued
+ * by the {@link MailOutboxService}, which sends them by batches with {@link #sendEmailsFromTemplate}.
  */
 @Service
 public class MailService {
@@ -31,6 +35,16 @@ public class MailService {
 
     private static final String BASE_URL = "baseUrl";
 
+    static final String ACTIVATION_TEMPLATE = "mail/activationEmail";
+
+    static final String CREATION_TEMPLATE = "mail/creationEmail";
+
+    static final String PASSWORD_RESET_TEMPLATE = "mail/passwordResetEmail";
+
+    static final String ACTIVATION_TITLE_KEY = "email.activation.title";
+
+    static final String PASSWORD_RESET_TITLE_KEY = "email.reset.title";
+
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
@@ -62,21 +76,71 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
+            javaMailSender.send(createMimeMessage(to, subject, content, isMultipart, isHtml));
             log.debug("Sent email to User '{}'", to);
         } catch (MailException | MessagingException e) {
             log.warn("Email could not be sent to user '{}'", to, e);
         }
     }
 
+    private MimeMessage createMimeMessage(String to, String subject, String content, boolean isMultipart, boolean isHtml)
+        throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
+    /**
+     * Send the same template to users of the same language, over a single connection to the mail server.
+     * <p>
+     * The subject and the template context are resolved once for the whole batch. Unlike the other methods of this
+     * service, this one is synchronous and reports the failures to its caller.
+     *
+     * @param recipients the users, who all have an email, by the key of their email, as a user may get several.
+     * @param locale the language of the users.
+     * @param templateName the template of the emails.
+     * @param titleKey the message key of the subject of the emails.
+     * @return the keys of the emails which could not be sent, with the cause.
+     */
+    public <K> Map<K, Exception> sendEmailsFromTemplate(Map<K, User> recipients, Locale locale, String templateName, String titleKey) {
+        Map<K, Exception> failures = new LinkedHashMap<>();
+        Map<MimeMessage, K> messages = new LinkedHashMap<>();
+        Context context = new Context(locale);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        String subject = messageSource.getMessage(titleKey, null, locale);
+        for (Map.Entry<K, User> recipient : recipients.entrySet()) {
+            User user = recipient.getValue();
+            context.setVariable(USER, user);
+            try {
+                String content = templateEngine.process(templateName, context);
+                messages.put(createMimeMessage(user.getEmail(), subject, content, false, true), recipient.getKey());
+            } catch (MessagingException e) {
+                failures.put(recipient.getKey(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            log.debug("Sent {} emails from template '{}'", messages.size(), templateName);
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, cause) -> failures.put(messages.get(message), cause));
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(key -> failures.put(key, e));
+            }
+        } catch (MailException e) {
+            messages.values().forEach(key -> failures.put(key, e));
+        }
+        return failures;
+    }
+
     @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
@@ -95,18 +159,18 @@ public class MailService {
     @Async
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
+        sendEmailFromTemplate(user, ACTIVATION_TEMPLATE, ACTIVATION_TITLE_KEY);
     }
 
     @Async
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
+        sendEmailFromTemplate(user, CREATION_TEMPLATE, ACTIVATION_TITLE_KEY);
     }
 
     @Async
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+        sendEmailFromTemplate(user, PASSWORD_RESET_TEMPLATE, PASSWORD_RESET_TITLE_KEY);
     }
 }
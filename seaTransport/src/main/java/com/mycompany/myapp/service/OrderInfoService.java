@@ -1,5 +1,6 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.aop.coalescing.Coalesced;
 import com.mycompany.myapp.domain.OrderInfo;
 import com.mycompany.myapp.repository.OrderInfoRepository;
 import java.util.Optional;
@@ -80,6 +81,7 @@ public class OrderInfoService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<OrderInfo> findAll(Pageable pageable) {
         log.debug("Request to get all OrderInfos");
@@ -92,6 +94,7 @@ public class OrderInfoService {
      * @param id the id of the entity.
      * @return the entity.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<OrderInfo> findOne(Long id) {
         log.debug("Request to get OrderInfo : {}", id);
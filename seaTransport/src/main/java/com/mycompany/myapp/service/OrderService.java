@@ -1,5 +1,6 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.aop.coalescing.Coalesced;
 import com.mycompany.myapp.domain.Order;
 import com.mycompany.myapp.repository.OrderRepository;
 import java.util.Optional;
@@ -21,8 +22,11 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
 
-    public OrderService(OrderRepository orderRepository) {
+    private final ResponseCacheService responseCacheService;
+
+    public OrderService(OrderRepository orderRepository, ResponseCacheService responseCacheService) {
         this.orderRepository = orderRepository;
+        this.responseCacheService = responseCacheService;
     }
 
     /**
@@ -33,6 +37,7 @@ public class OrderService {
      */
     public Order save(Order order) {
         log.debug("Request to save Order : {}", order);
+        responseCacheService.invalidate(ResponseCacheService.ORDERS);
         return orderRepository.save(order);
     }
 
@@ -44,6 +49,7 @@ public class OrderService {
      */
     public Optional<Order> partialUpdate(Order order) {
         log.debug("Request to partially update Order : {}", order);
+        responseCacheService.invalidate(ResponseCacheService.ORDERS);
 
         return orderRepository
             .findById(order.getId())
@@ -80,6 +86,7 @@ public class OrderService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<Order> findAll(Pageable pageable) {
         log.debug("Request to get all Orders");
@@ -92,6 +99,7 @@ public class OrderService {
      * @param id the id of the entity.
      * @return the entity.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<Order> findOne(Long id) {
         log.debug("Request to get Order : {}", id);
@@ -105,6 +113,7 @@ public class OrderService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Order : {}", id);
+        responseCacheService.invalidate(ResponseCacheService.ORDERS);
         orderRepository.deleteById(id);
     }
 }
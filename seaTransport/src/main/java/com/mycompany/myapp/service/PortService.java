@@ -1,5 +1,6 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.aop.coalescing.Coalesced;
 import com.mycompany.myapp.domain.Port;
 import com.mycompany.myapp.repository.PortRepository;
 import java.util.Optional;
@@ -21,8 +22,18 @@ public class PortService {
 
     private final PortRepository portRepository;
 
-    public PortService(PortRepository portRepository) {
+    private final ResponseCacheService responseCacheService;
+
+    private final ReferenceDataService referenceDataService;
+
+    public PortService(
+        PortRepository portRepository,
+        ResponseCacheService responseCacheService,
+        ReferenceDataService referenceDataService
+    ) {
         this.portRepository = portRepository;
+        this.responseCacheService = responseCacheService;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -33,7 +44,10 @@ public class PortService {
      */
     public Port save(Port port) {
         log.debug("Request to save Port : {}", port);
-        return portRepository.save(port);
+        responseCacheService.invalidate(ResponseCacheService.PORTS);
+        Port result = portRepository.save(port);
+        referenceDataService.publishPort(result);
+        return result;
     }
 
     /**
@@ -44,8 +58,9 @@ public class PortService {
      */
     public Optional<Port> partialUpdate(Port port) {
         log.debug("Request to partially update Port : {}", port);
+        responseCacheService.invalidate(ResponseCacheService.PORTS);
 
-        return portRepository
+        Optional<Port> result = portRepository
             .findById(port.getId())
             .map(
                 existingPort -> {
@@ -66,6 +81,8 @@ public class PortService {
                 }
             )
             .map(portRepository::save);
+        result.ifPresent(referenceDataService::publishPort);
+        return result;
     }
 
     /**
@@ -74,6 +91,7 @@ public class PortService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<Port> findAll(Pageable pageable) {
         log.debug("Request to get all Ports");
@@ -86,6 +104,7 @@ public class PortService {
      * @param id the id of the entity.
      * @return the entity.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<Port> findOne(Long id) {
         log.debug("Request to get Port : {}", id);
@@ -99,6 +118,8 @@ public class PortService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Port : {}", id);
+        responseCacheService.invalidate(ResponseCacheService.PORTS);
         portRepository.deleteById(id);
+        referenceDataService.removePort(id);
     }
 }
@@ -0,0 +1,369 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Port;
+import com.mycompany.myapp.domain.Status;
+import com.mycompany.myapp.domain.Transport;
+import com.mycompany.myapp.repository.PortRepository;
+import com.mycompany.myapp.repository.StatusRepository;
+import com.mycompany.myapp.repository.TransportRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service holding in-memory snapshots of the {@link Status}, {@link Transport} and {@link Port} tables, so that the
+ * references stored in an {@link com.mycompany.myapp.domain.Order} can be resolved without a repository lookup.
+ * <p>
+ * The three tables are published together as an immutable, versioned {@link Snapshot}: resolving a reference is a
+ * volatile read and an array access. Writes are copy-on-write: the services call {@link #publishStatus(Status)},
+ * {@link #removeStatus(Long)}, etc. and a new snapshot is published once their transaction commits. Writes made by other
+ * instances are picked up by the periodic reload.
+ * <p>
+ * The entities of a snapshot are copies detached from any persistence context, shared between threads: they must not
+ * be modified.
+ */
+@Service
+public class ReferenceDataService {
+
+    private final Logger log = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    private final StatusRepository statusRepository;
+
+    private final TransportRepository transportRepository;
+
+    private final PortRepository portRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(0, Table.empty(), Table.empty(), Table.empty());
+
+    /**
+     * The changes made while the tables are reloaded, applied again to the reloaded snapshot. Guarded by {@code this}.
+     */
+    private final List<Function<Snapshot, Snapshot>> changesDuringReload = new ArrayList<>();
+
+    private int reloads;
+
+    public ReferenceDataService(
+        StatusRepository statusRepository,
+        TransportRepository transportRepository,
+        PortRepository portRepository
+    ) {
+        this.statusRepository = statusRepository;
+        this.transportRepository = transportRepository;
+        this.portRepository = portRepository;
+    }
+
+    /**
+     * Get the current snapshot, to resolve several references against the same version of the tables.
+     *
+     * @return the current snapshot.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Resolve a status.
+     *
+     * @param id the id of the status.
+     * @return the status, or {@code null} if there is none with this id.
+     */
+    public Status getStatus(long id) {
+        return snapshot.getStatus(id);
+    }
+
+    /**
+     * Resolve a transport.
+     *
+     * @param id the id of the transport.
+     * @return the transport, or {@code null} if there is none with this id.
+     */
+    public Transport getTransport(long id) {
+        return snapshot.getTransport(id);
+    }
+
+    /**
+     * Resolve a port.
+     *
+     * @param id the id of the port.
+     * @return the port, or {@code null} if there is none with this id.
+     */
+    public Port getPort(long id) {
+        return snapshot.getPort(id);
+    }
+
+    /**
+     * Reload every table from the database.
+     * <p>
+     * This is scheduled to get fired at startup and every 5 minutes. The changes published while the tables are read
+     * may be missing from what was read, so they are applied again to the reloaded snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelay = 300000, fixedDelay = 300000)
+    @Transactional(readOnly = true)
+    public void reload() {
+        synchronized (this) {
+            if (reloads++ == 0) {
+                changesDuringReload.clear();
+            }
+        }
+        try {
+            Table<Status> statuses = Table.of(statusRepository.findAll(), Status::getId, ReferenceDataService::copy);
+            Table<Transport> transports = Table.of(transportRepository.findAll(), Transport::getId, ReferenceDataService::copy);
+            Table<Port> ports = Table.of(portRepository.findAll(), Port::getId, ReferenceDataService::copy);
+            synchronized (this) {
+                Snapshot reloaded = new Snapshot(snapshot.version + 1, statuses, transports, ports);
+                for (Function<Snapshot, Snapshot> change : changesDuringReload) {
+                    reloaded = change.apply(reloaded);
+                }
+                snapshot = reloaded;
+            }
+            log.debug("Reloaded reference data: {} statuses, {} transports, {} ports", statuses.size(), transports.size(), ports.size());
+        } finally {
+            synchronized (this) {
+                reloads--;
+            }
+        }
+    }
+
+    public void publishStatus(Status status) {
+        afterCommit(() -> update(s -> s.withStatuses(s.statuses.with(status.getId(), copy(status)))));
+    }
+
+    public void removeStatus(Long id) {
+        afterCommit(() -> update(s -> s.withStatuses(s.statuses.with(id, null))));
+    }
+
+    public void publishTransport(Transport transport) {
+        afterCommit(() -> update(s -> s.withTransports(s.transports.with(transport.getId(), copy(transport)))));
+    }
+
+    public void removeTransport(Long id) {
+        afterCommit(() -> update(s -> s.withTransports(s.transports.with(id, null))));
+    }
+
+    public void publishPort(Port port) {
+        afterCommit(() -> update(s -> s.withPorts(s.ports.with(port.getId(), copy(port)))));
+    }
+
+    public void removePort(Long id) {
+        afterCommit(() -> update(s -> s.withPorts(s.ports.with(id, null))));
+    }
+
+    private synchronized void update(Function<Snapshot, Snapshot> change) {
+        snapshot = change.apply(snapshot);
+        if (reloads > 0) {
+            changesDuringReload.add(change);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+
+    private static Status copy(Status status) {
+        return new Status().id(status.getId()).statusName(status.getStatusName()).description(status.getDescription());
+    }
+
+    private static Transport copy(Transport transport) {
+        return new Transport()
+            .id(transport.getId())
+            .transportName(transport.getTransportName())
+            .maxWeight(transport.getMaxWeight())
+            .speed(transport.getSpeed())
+            .deckSize(transport.getDeckSize());
+    }
+
+    private static Port copy(Port port) {
+        return new Port()
+            .id(port.getId())
+            .loadingPortLatitude(port.getLoadingPortLatitude())
+            .loadingPortLongitude(port.getLoadingPortLongitude())
+            .shipmentPortLatitude(port.getShipmentPortLatitude())
+            .shipmentPortLongitude(port.getShipmentPortLongitude());
+    }
+
+    /**
+     * An immutable version of the reference tables.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+
+        private final Table<Status> statuses;
+
+        private final Table<Transport> transports;
+
+        private final Table<Port> ports;
+
+        private Snapshot(long version, Table<Status> statuses, Table<Transport> transports, Table<Port> ports) {
+            this.version = version;
+            this.statuses = statuses;
+            this.transports = transports;
+            this.ports = ports;
+        }
+
+        /**
+         * @return the version of this snapshot, incremented by every change.
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        public Status getStatus(long id) {
+            return statuses.get(id);
+        }
+
+        public Transport getTransport(long id) {
+            return transports.get(id);
+        }
+
+        public Port getPort(long id) {
+            return ports.get(id);
+        }
+
+        private Snapshot withStatuses(Table<Status> statuses) {
+            return new Snapshot(version + 1, statuses, transports, ports);
+        }
+
+        private Snapshot withTransports(Table<Transport> transports) {
+            return new Snapshot(version + 1, statuses, transports, ports);
+        }
+
+        private Snapshot withPorts(Table<Port> ports) {
+            return new Snapshot(version + 1, statuses, transports, ports);
+        }
+    }
+
+    /**
+     * An immutable table of entities indexed by id.
+     * <p>
+     * Ids come from a sequence shared by every entity, so they are not contiguous. When they span less than
+     * {@link #DENSITY} times their count, entities are stored in an array indexed by {@code id - offset}; otherwise they
+     * are found by a binary search in the sorted ids.
+     */
+    static final class Table<T> {
+
+        static final int DENSITY = 8;
+
+        private static final int MIN_DENSE_SPAN = 1024;
+
+        private final long[] ids;
+
+        private final Object[] values;
+
+        private final long offset;
+
+        private final Object[] byIndex;
+
+        private Table(long[] ids, Object[] values) {
+            this.ids = ids;
+            this.values = values;
+            long span = ids.length == 0 ? 0 : ids[ids.length - 1] - ids[0] + 1;
+            if (span <= Math.max(MIN_DENSE_SPAN, (long) DENSITY * ids.length)) {
+                this.offset = ids.length == 0 ? 0 : ids[0];
+                this.byIndex = new Object[(int) span];
+                for (int i = 0; i < ids.length; i++) {
+                    byIndex[(int) (ids[i] - offset)] = values[i];
+                }
+            } else {
+                this.offset = 0;
+                this.byIndex = null;
+            }
+        }
+
+        static <T> Table<T> empty() {
+            return new Table<>(new long[0], new Object[0]);
+        }
+
+        static <E, T> Table<T> of(List<E> entities, Function<E, Long> id, Function<E, T> copy) {
+            E[] sorted = entities.stream().filter(e -> id.apply(e) != null).toArray(n -> newArray(n));
+            Arrays.sort(sorted, (a, b) -> Long.compare(id.apply(a), id.apply(b)));
+            long[] ids = new long[sorted.length];
+            Object[] values = new Object[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = id.apply(sorted[i]);
+                values[i] = copy.apply(sorted[i]);
+            }
+            return new Table<>(ids, values);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E> E[] newArray(int length) {
+            return (E[]) new Object[length];
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(long id) {
+            Object[] array = byIndex;
+            if (array != null) {
+                long index = id - offset;
+                return index >= 0 && index < array.length ? (T) array[(int) index] : null;
+            }
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? (T) values[index] : null;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Copy this table with an entity added, replaced or removed.
+         *
+         * @param id the id of the entity.
+         * @param value the entity, or {@code null} to remove it.
+         * @return the new table.
+         */
+        Table<T> with(long id, T value) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index >= 0 && value != null) {
+                Object[] newValues = values.clone();
+                newValues[index] = value;
+                return new Table<>(ids, newValues);
+            }
+            if (index >= 0) {
+                long[] newIds = new long[ids.length - 1];
+                Object[] newValues = new Object[ids.length - 1];
+                System.arraycopy(ids, 0, newIds, 0, index);
+                System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+                System.arraycopy(values, 0, newValues, 0, index);
+                System.arraycopy(values, index + 1, newValues, index, ids.length - index - 1);
+                return new Table<>(newIds, newValues);
+            }
+            if (value == null) {
+                return this;
+            }
+            int insertion = -index - 1;
+            long[] newIds = new long[ids.length + 1];
+            Object[] newValues = new Object[ids.length + 1];
+            System.arraycopy(ids, 0, newIds, 0, insertion);
+            System.arraycopy(ids, insertion, newIds, insertion + 1, ids.length - insertion);
+            System.arraycopy(values, 0, newValues, 0, insertion);
+            System.arraycopy(values, insertion, newValues, insertion + 1, ids.length - insertion);
+            newIds[insertion] = id;
+            newValues[insertion] = value;
+            return new Table<>(newIds, newValues);
+        }
+    }
+}
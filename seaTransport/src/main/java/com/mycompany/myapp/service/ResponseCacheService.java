@@ -0,0 +1,227 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service storing serialized responses of read-mostly endpoints, so they can be served again without querying the
+ * database nor serializing entities.
+ * <p>
+ * Responses are grouped in regions, one per entity. Services must {@link #invalidate(String) invalidate} the region of
+ * an entity whenever they save or delete one. Each region has a generation, which is incremented by every invalidation:
+ * a response computed while the region was invalidated is not stored, even if it completes afterwards.
+ * <p>
+ * The regions are local to the instance, and so are their invalidations: the cache is meant for a single instance
+ * deployment. Elsewhere, an instance keeps serving the responses computed before a write handled by another instance
+ * until their time to live is over.
+ */
+@Service
+public class ResponseCacheService {
+
+    public static final String STATUSES = "statuses";
+
+    public static final String TRANSPORTS = "transports";
+
+    public static final String PORTS = "ports";
+
+    public static final String ORDERS = "orders";
+
+    private final Logger log = LoggerFactory.getLogger(ResponseCacheService.class);
+
+    private final ApplicationProperties.ResponseCache properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Region> regions = new ConcurrentHashMap<>();
+
+    public ResponseCacheService(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getResponseCache();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get the current generation of a region, to be passed back to {@link #put}.
+     *
+     * @param region the region.
+     * @return the generation of the region.
+     */
+    public long generation(String region) {
+        return region(region).generation.get();
+    }
+
+    /**
+     * Get a stored response, and record the lookup.
+     *
+     * @param region the region.
+     * @param key the normalized request key.
+     * @return the stored response, or {@code null} if there is none.
+     */
+    public CachedResponse get(String region, String key) {
+        Region cache = region(region);
+        CachedResponse response = cache.responses.get(key);
+        if (response != null && response.isExpired(properties.getTimeToLiveSeconds())) {
+            cache.responses.remove(key, response);
+            response = null;
+        }
+        if (response == null) {
+            cache.misses.increment();
+            return null;
+        }
+        cache.hits.increment();
+        cache.bytesServed.increment(response.getBody().length);
+        return response;
+    }
+
+    /**
+     * Store a response, unless its region was invalidated since the given generation.
+     * <p>
+     * When the region is full, its expired responses are removed, then its oldest one if none had expired.
+     *
+     * @param region the region.
+     * @param key the normalized request key.
+     * @param generation the generation of the region when the response started being computed.
+     * @param response the response.
+     */
+    public void put(String region, String key, long generation, CachedResponse response) {
+        Region cache = region(region);
+        if (response.getBody().length > properties.getMaxBodyBytes() || properties.getMaxEntriesPerRegion() <= 0) {
+            return;
+        }
+        if (cache.responses.size() >= properties.getMaxEntriesPerRegion() && !cache.responses.containsKey(key)) {
+            cache.makeRoom(properties.getMaxEntriesPerRegion(), properties.getTimeToLiveSeconds());
+        }
+        cache.responses.put(key, response);
+        if (cache.generation.get() != generation) {
+            // Invalidated concurrently: the response may be stale
+            cache.responses.remove(key, response);
+        }
+    }
+
+    /**
+     * Invalidate every stored response of a region.
+     * <p>
+     * When called within a transaction, the region is invalidated again once the transaction completes, so that a
+     * response computed from the data before commit is not kept.
+     *
+     * @param region the region.
+     */
+    public void invalidate(String region) {
+        log.debug("Invalidating response cache region {}", region);
+        Region cache = region(region);
+        cache.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        cache.invalidate();
+                    }
+                }
+            );
+        }
+    }
+
+    private Region region(String name) {
+        return regions.computeIfAbsent(name, n -> new Region(n, meterRegistry));
+    }
+
+    private static final class Region {
+
+        private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+        private final AtomicLong generation = new AtomicLong();
+
+        private final Counter hits;
+
+        private final Counter misses;
+
+        private final Counter bytesServed;
+
+        private final Counter evictions;
+
+        private Region(String name, MeterRegistry meterRegistry) {
+            this.hits = meterRegistry.counter("http.response.cache.requests", "region", name, "result", "hit");
+            this.misses = meterRegistry.counter("http.response.cache.requests", "region", name, "result", "miss");
+            this.bytesServed =
+                Counter
+                    .builder("http.response.cache.served")
+                    .tags("region", name)
+                    .baseUnit("bytes")
+                    .description("The size of the response bodies served from the cache")
+                    .register(meterRegistry);
+            this.evictions = meterRegistry.counter("http.response.cache.evictions", "region", name);
+            meterRegistry.gauge("http.response.cache.entries", Tags.of("region", name), responses, Map::size);
+        }
+
+        private void invalidate() {
+            generation.incrementAndGet();
+            responses.clear();
+        }
+
+        private void makeRoom(int maxEntries, long timeToLiveSeconds) {
+            responses.entrySet().removeIf(entry -> entry.getValue().isExpired(timeToLiveSeconds));
+            while (responses.size() >= maxEntries) {
+                Map.Entry<String, CachedResponse> oldest = null;
+                for (Map.Entry<String, CachedResponse> entry : responses.entrySet()) {
+                    if (oldest == null || entry.getValue().createdAt - oldest.getValue().createdAt < 0) {
+                        oldest = entry;
+                    }
+                }
+                if (oldest == null) {
+                    return;
+                }
+                if (responses.remove(oldest.getKey(), oldest.getValue())) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * A serialized response, with the headers needed to replay it.
+     */
+    public static class CachedResponse {
+
+        private final byte[] body;
+
+        private final String contentType;
+
+        private final Map<String, String> headers;
+
+        private final long createdAt = System.nanoTime();
+
+        public CachedResponse(byte[] body, String contentType, Map<String, String> headers) {
+            this.body = body;
+            this.contentType = contentType;
+            this.headers = headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        private boolean isExpired(long timeToLiveSeconds) {
+            return System.nanoTime() - createdAt > TimeUnit.SECONDS.toNanos(timeToLiveSeconds);
+        }
+    }
+}
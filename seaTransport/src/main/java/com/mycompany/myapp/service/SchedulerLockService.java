@@ -0,0 +1,202 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.SchedulerLock;
+import com.mycompany.myapp.repository.SchedulerLockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for the {@link SchedulerLock} of scheduled jobs which must run on a single instance at a time.
+ * <p>
+ * A lock is taken by updating its row only if it expired, or by inserting it if there is none: both are atomic on
+ * every database, so no more than one instance holds a lock. Each change is committed in its own transaction, before
+ * the job starts. A lock is held at most for a given duration, so that it is not kept forever by a crashed instance,
+ * and at least for another one, so that an instance whose clock is late does not run the same job again. A job still
+ * running once its lock expired may run concurrently on another instance: it is reported as an overrun.
+ */
+@Service
+public class SchedulerLockService {
+
+    private final Logger log = LoggerFactory.getLogger(SchedulerLockService.class);
+
+    private final SchedulerLockRepository schedulerLockRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Lock> held = new ConcurrentHashMap<>();
+
+    private final String instanceId;
+
+    private final Clock clock;
+
+    @Autowired
+    public SchedulerLockService(
+        SchedulerLockRepository schedulerLockRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this(schedulerLockRepository, transactionManager, meterRegistry, clock, ManagementFactory.getRuntimeMXBean().getName());
+    }
+
+    SchedulerLockService(
+        SchedulerLockRepository schedulerLockRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        Clock clock,
+        String instanceId
+    ) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.instanceId = instanceId;
+        meterRegistry.gaugeMapSize("scheduler.lock.held", Collections.emptyList(), held);
+    }
+
+    /**
+     * Take a lock, unless it is held by another instance.
+     *
+     * @param name the name of the lock.
+     * @param lockAtMostFor how long the lock is held if it is not released.
+     * @param lockAtLeastFor how long the lock is held even if it is released earlier.
+     * @return the lock, or an empty {@link Optional} if it is held by another instance.
+     */
+    public Optional<Lock> tryLock(String name, Duration lockAtMostFor, Duration lockAtLeastFor) {
+        Instant now = clock.instant().truncatedTo(ChronoUnit.MILLIS);
+        Instant lockedUntil = now.plus(lockAtMostFor);
+        boolean locked;
+        try {
+            locked =
+                Boolean.TRUE.equals(
+                    transactionTemplate.execute(
+                        status -> {
+                            if (schedulerLockRepository.lockIfExpired(name, now, lockedUntil, instanceId) > 0) {
+                                return true;
+                            }
+                            if (schedulerLockRepository.existsById(name)) {
+                                return false;
+                            }
+                            SchedulerLock schedulerLock = new SchedulerLock();
+                            schedulerLock.setName(name);
+                            schedulerLock.setLockedAt(now);
+                            schedulerLock.setLockedUntil(lockedUntil);
+                            schedulerLock.setLockedBy(instanceId);
+                            schedulerLockRepository.saveAndFlush(schedulerLock);
+                            return true;
+                        }
+                    )
+                );
+        } catch (DataIntegrityViolationException e) {
+            // Inserted concurrently by another instance
+            locked = false;
+        }
+        if (!locked) {
+            log.debug("Lock {} is held by another instance", name);
+            return Optional.empty();
+        }
+        Lock lock = new Lock(name, now, lockAtMostFor, lockAtLeastFor);
+        held.put(name, lock);
+        return Optional.of(lock);
+    }
+
+    /**
+     * Release a lock, keeping it until its minimal duration is elapsed.
+     *
+     * @param lock the lock.
+     */
+    public void unlock(Lock lock) {
+        held.remove(lock.name, lock);
+        Instant now = clock.instant();
+        Instant minimalLockedUntil = lock.lockedAt.plus(lock.lockAtLeastFor);
+        Instant lockedUntil = now.isAfter(minimalLockedUntil) ? now : minimalLockedUntil;
+        Integer updated = transactionTemplate.execute(
+            status -> schedulerLockRepository.unlock(lock.name, lock.lockedAt, instanceId, lockedUntil)
+        );
+        if (updated == null || updated == 0) {
+            log.warn("Lock {} was taken by another instance before it was released", lock.name);
+            reportOverrun(lock);
+        } else if (now.isAfter(lock.getExpiresAt())) {
+            log.warn("Lock {} was held for {}, longer than its maximal duration {}", lock.name, lock.heldFor(now), lock.lockAtMostFor);
+            reportOverrun(lock);
+        }
+    }
+
+    /**
+     * Report the locks still held by this instance past their maximal duration, as their job may already run again on
+     * another instance.
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void detectOverruns() {
+        Instant now = clock.instant();
+        for (Lock lock : held.values()) {
+            if (now.isAfter(lock.getExpiresAt())) {
+                log.warn("Lock {} is held for {}, longer than its maximal duration {}", lock.name, lock.heldFor(now), lock.lockAtMostFor);
+                reportOverrun(lock);
+            }
+        }
+    }
+
+    private void reportOverrun(Lock lock) {
+        if (!lock.overrun) {
+            lock.overrun = true;
+            meterRegistry.counter("scheduler.lock.overrun", "lock", lock.name).increment();
+        }
+    }
+
+    /**
+     * A lock held by this instance.
+     */
+    public static final class Lock {
+
+        private final String name;
+
+        private final Instant lockedAt;
+
+        private final Duration lockAtMostFor;
+
+        private final Duration lockAtLeastFor;
+
+        private volatile boolean overrun;
+
+        private Lock(String name, Instant lockedAt, Duration lockAtMostFor, Duration lockAtLeastFor) {
+            this.name = name;
+            this.lockedAt = lockedAt;
+            this.lockAtMostFor = lockAtMostFor;
+            this.lockAtLeastFor = lockAtLeastFor;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Instant getExpiresAt() {
+            return lockedAt.plus(lockAtMostFor);
+        }
+
+        private Duration heldFor(Instant now) {
+            return Duration.between(lockedAt, now);
+        }
+    }
+}
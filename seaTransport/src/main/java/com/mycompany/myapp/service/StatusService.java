@@ -1,5 +1,6 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.aop.coalescing.Coalesced;
 import com.mycompany.myapp.domain.Status;
 import com.mycompany.myapp.repository.StatusRepository;
 import java.util.Optional;
@@ -21,8 +22,18 @@ public class StatusService {
 
     private final StatusRepository statusRepository;
 
-    public StatusService(StatusRepository statusRepository) {
+    private final ResponseCacheService responseCacheService;
+
+    private final ReferenceDataService referenceDataService;
+
+    public StatusService(
+        StatusRepository statusRepository,
+        ResponseCacheService responseCacheService,
+        ReferenceDataService referenceDataService
+    ) {
         this.statusRepository = statusRepository;
+        this.responseCacheService = responseCacheService;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -33,7 +44,10 @@ public class StatusService {
      */
     public Status save(Status status) {
         log.debug("Request to save Status : {}", status);
-        return statusRepository.save(status);
+        responseCacheService.invalidate(ResponseCacheService.STATUSES);
+        Status result = statusRepository.save(status);
+        referenceDataService.publishStatus(result);
+        return result;
     }
 
     /**
@@ -44,8 +58,9 @@ public class StatusService {
      */
     public Optional<Status> partialUpdate(Status status) {
         log.debug("Request to partially update Status : {}", status);
+        responseCacheService.invalidate(ResponseCacheService.STATUSES);
 
-        return statusRepository
+        Optional<Status> result = statusRepository
             .findById(status.getId())
             .map(
                 existingStatus -> {
@@ -60,6 +75,8 @@ public class StatusService {
                 }
             )
             .map(statusRepository::save);
+        result.ifPresent(referenceDataService::publishStatus);
+        return result;
     }
 
     /**
@@ -68,6 +85,7 @@ public class StatusService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<Status> findAll(Pageable pageable) {
         log.debug("Request to get all Statuses");
@@ -80,6 +98,7 @@ public class StatusService {
      * @param id the id of the entity.
      * @return the entity.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<Status> findOne(Long id) {
         log.debug("Request to get Status : {}", id);
@@ -93,6 +112,8 @@ public class StatusService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Status : {}", id);
+        responseCacheService.invalidate(ResponseCacheService.STATUSES);
         statusRepository.deleteById(id);
+        referenceDataService.removeStatus(id);
     }
 }
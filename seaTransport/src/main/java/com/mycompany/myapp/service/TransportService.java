@@ -1,5 +1,6 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.aop.coalescing.Coalesced;
 import com.mycompany.myapp.domain.Transport;
 import com.mycompany.myapp.repository.TransportRepository;
 import java.util.Optional;
@@ -21,8 +22,18 @@ public class TransportService {
 
     private final TransportRepository transportRepository;
 
-    public TransportService(TransportRepository transportRepository) {
+    private final ResponseCacheService responseCacheService;
+
+    private final ReferenceDataService referenceDataService;
+
+    public TransportService(
+        TransportRepository transportRepository,
+        ResponseCacheService responseCacheService,
+        ReferenceDataService referenceDataService
+    ) {
         this.transportRepository = transportRepository;
+        this.responseCacheService = responseCacheService;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -33,7 +44,10 @@ public class TransportService {
      */
     public Transport save(Transport transport) {
         log.debug("Request to save Transport : {}", transport);
-        return transportRepository.save(transport);
+        responseCacheService.invalidate(ResponseCacheService.TRANSPORTS);
+        Transport result = transportRepository.save(transport);
+        referenceDataService.publishTransport(result);
+        return result;
     }
 
     /**
@@ -44,8 +58,9 @@ public class TransportService {
      */
     public Optional<Transport> partialUpdate(Transport transport) {
         log.debug("Request to partially update Transport : {}", transport);
+        responseCacheService.invalidate(ResponseCacheService.TRANSPORTS);
 
-        return transportRepository
+        Optional<Transport> result = transportRepository
             .findById(transport.getId())
             .map(
                 existingTransport -> {
@@ -66,6 +81,8 @@ public class TransportService {
                 }
             )
             .map(transportRepository::save);
+        result.ifPresent(referenceDataService::publishTransport);
+        return result;
     }
 
     /**
@@ -74,6 +91,7 @@ public class TransportService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Page<Transport> findAll(Pageable pageable) {
         log.debug("Request to get all Transports");
@@ -86,6 +104,7 @@ public class TransportService {
      * @param id the id of the entity.
      * @return the entity.
      */
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<Transport> findOne(Long id) {
         log.debug("Request to get Transport : {}", id);
@@ -99,6 +118,8 @@ public class TransportService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Transport : {}", id);
+        responseCacheService.invalidate(ResponseCacheService.TRANSPORTS);
         transportRepository.deleteById(id);
+        referenceDataService.removeTransport(id);
     }
 }
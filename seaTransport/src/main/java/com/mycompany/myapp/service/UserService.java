@@ -1,27 +1,42 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.aop.scheduling.ClusterSingleton;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.AuthorityRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.PrincipalLookupCache;
 import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import com.mycompany.myapp.service.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -31,6 +46,8 @@ import tech.jhipster.security.RandomUtil;
 @Transactional
 public class UserService {
 
+    public static final String ACCOUNTS_CACHE = "accounts";
+
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
@@ -41,16 +58,40 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final PrincipalLookupCache principalLookupCache;
+
+    private final MailOutboxService mailOutboxService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int cleanupChunkSize;
+
+    private final Counter removedNotActivatedUsers;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        PrincipalLookupCache principalLookupCache,
+        MailOutboxService mailOutboxService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.principalLookupCache = principalLookupCache;
+        this.mailOutboxService = mailOutboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cleanupChunkSize = applicationProperties.getUserCleanup().getChunkSize();
+        this.removedNotActivatedUsers =
+            Counter
+                .builder("users.not.activated.removed")
+                .description("The number of not activated users purged by the nightly cleanup")
+                .register(meterRegistry);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -94,6 +135,7 @@ public class UserService {
                     user.setResetKey(RandomUtil.generateResetKey());
                     user.setResetDate(Instant.now());
                     this.clearUserCaches(user);
+                    mailOutboxService.queuePasswordResetMail(user);
                     return user;
                 }
             );
@@ -141,6 +183,7 @@ public class UserService {
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
         this.clearUserCaches(newUser);
+        mailOutboxService.queueActivationEmail(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -186,6 +229,7 @@ public class UserService {
         }
         userRepository.save(user);
         this.clearUserCaches(user);
+        mailOutboxService.queueCreationEmail(user);
         log.debug("Created Information for User: {}", user);
         return user;
     }
@@ -291,7 +335,22 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
-        return userRepository.findAll(pageable).map(AdminUserDTO::new);
+        // Page the ids first, then load these users with their authorities in a single query
+        Page<Long> ids = userRepository.findAllIds(pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, ids.getTotalElements());
+        }
+        Map<Long, User> users = userRepository
+            .findAllWithAuthoritiesByIdIn(ids.getContent())
+            .stream()
+            .collect(Collectors.toMap(User::getId, Function.identity(), (user, duplicate) -> user));
+        List<AdminUserDTO> content = ids
+            .stream()
+            .map(users::get)
+            .filter(Objects::nonNull)
+            .map(AdminUserDTO::new)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
     }
 
     @Transactional(readOnly = true)
@@ -309,22 +368,75 @@ public class UserService {
         return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
     }
 
+    /**
+     * Get the account of the current user, from the accounts cache when possible.
+     * <p>
+     * No transaction is started here, so that a cache hit does not touch the database nor a Hibernate session. The
+     * cached account is evicted by {@link #clearUserCaches(User)} whenever the user is updated. An account read within
+     * a caller's transaction may not be committed yet, so it is not cached.
+     *
+     * @return the account of the current user.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<AdminUserDTO> getCurrentAccount() {
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.isEmpty()) {
+            return Optional.empty();
+        }
+        Cache accounts = Objects.requireNonNull(cacheManager.getCache(ACCOUNTS_CACHE));
+        AdminUserDTO account = accounts.get(login.get(), AdminUserDTO.class);
+        if (account != null) {
+            return Optional.of(account);
+        }
+        Optional<AdminUserDTO> loaded = userRepository.findOneWithAuthoritiesByLogin(login.get()).map(AdminUserDTO::new);
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            loaded.ifPresent(dto -> accounts.put(login.get(), dto));
+        }
+        return loaded;
+    }
+
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
      * This is scheduled to get fired everyday, at 01:00 (am).
+     * <p>
+     * Users are deleted by chunks of ids, each chunk in its own transaction, so that locks are held briefly and an
+     * interrupted run is simply resumed by the next one. When called within a transaction, every chunk joins it.
+     * <p>
+     * Only one instance runs it.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @ClusterSingleton(lockAtMostForMs = 3600000)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(
-                user -> {
-                    log.debug("Deleting not activated user {}", user.getLogin());
-                    userRepository.delete(user);
-                    this.clearUserCaches(user);
-                }
-            );
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        Pageable chunk = PageRequest.of(0, cleanupChunkSize, Sort.by("id"));
+        long removed = 0;
+        List<User> users;
+        do {
+            users =
+                transactionTemplate.execute(
+                    status -> {
+                        List<User> stale = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(
+                            createdBefore,
+                            chunk
+                        );
+                        if (!stale.isEmpty()) {
+                            List<Long> ids = stale.stream().map(User::getId).collect(Collectors.toList());
+                            userRepository.deleteAuthoritiesByUserIdIn(ids);
+                            userRepository.deleteAllByIdIn(ids);
+                        }
+                        return stale;
+                    }
+                );
+            clearUserCaches(users);
+            removed += users.size();
+            removedNotActivatedUsers.increment(users.size());
+            if (!users.isEmpty()) {
+                log.debug("Deleted {} not activated users so far", removed);
+            }
+        } while (users.size() == cleanupChunkSize);
+        log.info("Deleted {} not activated users created before {}", removed, createdBefore);
     }
 
     /**
@@ -338,8 +450,54 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        evictAccount(user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
         }
+        // Also called on deletion, where marking the principal as known is harmless: it only costs a database lookup
+        principalLookupCache.refresh(user);
+    }
+
+    /**
+     * Evict deleted users from the caches, with one bulk removal per cache.
+     */
+    private void clearUserCaches(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Set<String> logins = users.stream().map(User::getLogin).collect(Collectors.toSet());
+        Set<String> emails = users.stream().map(User::getEmail).filter(Objects::nonNull).collect(Collectors.toSet());
+        evictAll(UserRepository.USERS_BY_LOGIN_CACHE, logins);
+        evictAll(ACCOUNTS_CACHE, logins);
+        evictAll(UserRepository.USERS_BY_EMAIL_CACHE, emails);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictAll(String cacheName, Set<String> keys) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        if (cache.getNativeCache() instanceof javax.cache.Cache) {
+            ((javax.cache.Cache<Object, Object>) cache.getNativeCache()).removeAll(new HashSet<>(keys));
+        } else {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * Evict the cached account of a user, and again once the current transaction completes, so that an account loaded
+     * by a concurrent request before the commit is not kept.
+     */
+    private void evictAccount(String login) {
+        Cache accounts = Objects.requireNonNull(cacheManager.getCache(ACCOUNTS_CACHE));
+        accounts.evict(login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        accounts.evict(login);
+                    }
+                }
+            );
+        }
     }
 }
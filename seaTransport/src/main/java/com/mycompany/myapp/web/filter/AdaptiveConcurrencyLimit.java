@@ -0,0 +1,128 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limit of concurrent requests following their latency, in the manner of a gradient concurrency limit.
+ * <p>
+ * Latencies are averaged over short windows, and compared to their long-term average: while the short-term latency
+ * stays within the tolerance, the limit grows by the square root of itself, and when it rises above, the limit shrinks
+ * in proportion. The limit only grows while it is actually used, so that it stays close to the concurrency the
+ * database can sustain, and requests beyond it can be rejected before they queue for a worker or a connection.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double LONG_RTT_SMOOTHING = 0.05;
+
+    private final ApplicationProperties.ConcurrencyLimit properties;
+
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final LongAdder rttSum = new LongAdder();
+
+    private final LongAdder rttCount = new LongAdder();
+
+    private final AtomicLong windowStart;
+
+    private final Counter shed;
+
+    private volatile double limit;
+
+    private volatile double longRtt;
+
+    public AdaptiveConcurrencyLimit(String group, ApplicationProperties.ConcurrencyLimit properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs());
+        this.windowStart = new AtomicLong(System.nanoTime());
+        this.limit = properties.getInitialLimit();
+        this.shed = meterRegistry.counter("http.server.requests.shed", "group", group);
+        Gauge
+            .builder("http.server.requests.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+            .tags("group", group)
+            .description("The current limit of concurrent requests")
+            .register(meterRegistry);
+        meterRegistry.gauge("http.server.requests.concurrency.in.flight", Tags.of("group", group), inFlight);
+    }
+
+    /**
+     * Acquire a slot for a request.
+     *
+     * @return {@code true} if the request can proceed, in which case {@link #release} must be called once it completes.
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > (int) limit) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            return false;
+        }
+        if (current > maxInFlight.get()) {
+            maxInFlight.accumulateAndGet(current, Math::max);
+        }
+        return true;
+    }
+
+    /**
+     * Release the slot of a completed request, and record its latency.
+     *
+     * @param startNanos the {@link System#nanoTime()} when the request started.
+     */
+    public void release(long startNanos) {
+        long now = System.nanoTime();
+        release(now - startNanos, now);
+    }
+
+    void release(long rttNanos, long now) {
+        inFlight.decrementAndGet();
+        rttSum.add(rttNanos);
+        rttCount.increment();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            update();
+        }
+    }
+
+    private void update() {
+        long count = rttCount.sumThenReset();
+        long sum = rttSum.sumThenReset();
+        int used = maxInFlight.getAndSet(inFlight.get());
+        if (count == 0) {
+            return;
+        }
+        double shortRtt = (double) sum / count;
+        longRtt = longRtt == 0 ? shortRtt : longRtt * (1 - LONG_RTT_SMOOTHING) + shortRtt * LONG_RTT_SMOOTHING;
+        if (shortRtt < longRtt) {
+            // Let the long-term latency recover quickly after a slowdown
+            longRtt = shortRtt;
+        }
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRtt / shortRtt));
+        if (gradient == 1.0 && used < current / 2) {
+            // Not limited by the limit: do not grow it
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - properties.getSmoothing()) + target * properties.getSmoothing();
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), next));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,96 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds the REST requests exceeding the {@link AdaptiveConcurrencyLimit} of their group with a
+ * {@code 503 (Service Unavailable)}, before they take a worker thread or a database connection for long.
+ * <p>
+ * Reads, writes, bulk reads (reads of a page larger than the configured size) and authentications have their own
+ * limit, as their latencies differ too much to share one: authentications are bound by the password hashing, so a
+ * burst of logins would otherwise shrink the limit of the writes.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String READ = "read";
+
+    public static final String WRITE = "write";
+
+    public static final String BULK = "bulk";
+
+    public static final String AUTHENTICATION = "authentication";
+
+    private static final String AUTHENTICATION_PATH = "/api/authenticate";
+
+    private static final byte[] SERVICE_UNAVAILABLE = (
+        "{\"title\":\"Service Unavailable\",\"status\":" + HttpStatus.SERVICE_UNAVAILABLE.value() + "}"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimit read;
+
+    private final AdaptiveConcurrencyLimit write;
+
+    private final AdaptiveConcurrencyLimit bulk;
+
+    private final AdaptiveConcurrencyLimit authentication;
+
+    private final int bulkPageSize;
+
+    public ConcurrencyLimitFilter(ApplicationProperties.ConcurrencyLimit properties, MeterRegistry meterRegistry) {
+        this.read = new AdaptiveConcurrencyLimit(READ, properties, meterRegistry);
+        this.write = new AdaptiveConcurrencyLimit(WRITE, properties, meterRegistry);
+        this.bulk = new AdaptiveConcurrencyLimit(BULK, properties, meterRegistry);
+        this.authentication = new AdaptiveConcurrencyLimit(AUTHENTICATION, properties, meterRegistry);
+        this.bulkPageSize = properties.getBulkPageSize();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = limitOf(request);
+        if (!limit.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+            response.setContentLength(SERVICE_UNAVAILABLE.length);
+            response.getOutputStream().write(SERVICE_UNAVAILABLE);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(start);
+        }
+    }
+
+    AdaptiveConcurrencyLimit limitOf(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return AUTHENTICATION_PATH.equals(path) ? authentication : write;
+        }
+        String size = request.getParameter("size");
+        if (size != null) {
+            try {
+                if (Integer.parseInt(size) > bulkPageSize) {
+                    return bulk;
+                }
+            } catch (NumberFormatException e) {
+                // Rejected by the controller
+            }
+        }
+        return read;
+    }
+}
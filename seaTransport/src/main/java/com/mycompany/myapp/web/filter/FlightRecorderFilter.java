@@ -0,0 +1,36 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.jfr.HttpRequestEvent;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Emits an {@link HttpRequestEvent} for every request, with the URI template of its endpoint. When no recording
+ * enables the event, the event is neither filled nor committed.
+ */
+public class FlightRecorderFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.setMethod(request.getMethod());
+                event.setEndpoint(endpoint != null ? endpoint.toString() : request.getRequestURI());
+                event.setStatus(response.getStatus());
+                event.commit();
+            }
+        }
+    }
+}
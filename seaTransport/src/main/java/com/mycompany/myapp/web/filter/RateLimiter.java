@@ -0,0 +1,129 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Token buckets limiting the rate of requests per client, with one set of buckets per rule.
+ * <p>
+ * Each bucket is a single {@code long} of an {@link AtomicLongArray}, holding the theoretical arrival time of the next
+ * request as in the generic cell rate algorithm: the bucket is refilled lazily by comparing it to the current time, and
+ * updated with a compare-and-set, so acquiring a permit neither locks nor allocates. Clients are spread over the buckets
+ * by the hash of their key, and the rare clients sharing a bucket share its rate. The logins and the IP addresses are
+ * hashed differently, so that a login and an address with the same hash do not share a bucket.
+ */
+public class RateLimiter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final int LOGIN_SEED = 0x9e3779b9;
+
+    private static final int ADDRESS_SEED = 0x85ebca6b;
+
+    private final List<Rule> rules;
+
+    private final long origin = System.nanoTime();
+
+    public RateLimiter(ApplicationProperties.RateLimit properties, MeterRegistry meterRegistry) {
+        int buckets = Integer.highestOneBit(Math.max(1, properties.getBucketsPerRule() - 1)) << 1;
+        this.rules = properties.getRules().stream().map(rule -> new Rule(rule, buckets, meterRegistry)).collect(Collectors.toList());
+    }
+
+    /**
+     * Acquire a permit for a request, from the first rule matching its path, in the bucket of its user if any, then in
+     * the bucket of its IP address.
+     *
+     * @param path the path of the request, without the context path.
+     * @param login the login of the user, or {@code null} for an anonymous request.
+     * @param address the IP address of the client.
+     * @return {@code 0} if the request is permitted, otherwise the number of nanoseconds to wait before retrying.
+     */
+    public long acquire(String path, String login, String address) {
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            if (rule.matches(path)) {
+                long now = System.nanoTime() - origin;
+                long wait = login == null ? 0 : rule.acquire(index(login, LOGIN_SEED, rule.mask), now);
+                if (wait == 0) {
+                    wait = rule.acquire(index(address, ADDRESS_SEED, rule.mask), now);
+                }
+                (wait > 0 ? rule.rejected : rule.allowed).increment();
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    private static int index(String key, int seed, int mask) {
+        int h = key.hashCode() * seed;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static final class Rule {
+
+        private final String pattern;
+
+        private final String prefix;
+
+        private final long intervalNanos;
+
+        private final long toleranceNanos;
+
+        private final AtomicLongArray buckets;
+
+        private final int mask;
+
+        private final Counter allowed;
+
+        private final Counter rejected;
+
+        private Rule(ApplicationProperties.RateLimit.Rule rule, int buckets, MeterRegistry meterRegistry) {
+            this.pattern = rule.getPattern();
+            if (!(rule.getPermitsPerSecond() > 0)) {
+                // A rate of zero would make the interval overflow when added to the arrival time
+                throw new IllegalArgumentException(
+                    "The permits per second of the rate limit rule " + pattern + " must be positive: " + rule.getPermitsPerSecond()
+                );
+            }
+            // Patterns such as /api/orders/** are matched by prefix, without tokenizing the path
+            String stem = pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 3) : pattern;
+            this.prefix = PATH_MATCHER.isPattern(stem) ? null : stem;
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rule.getPermitsPerSecond());
+            this.toleranceNanos = intervalNanos * (Math.max(1, rule.getBurst()) - 1);
+            this.buckets = new AtomicLongArray(buckets);
+            this.mask = buckets - 1;
+            this.allowed = meterRegistry.counter("http.server.requests.rate.limit", "rule", pattern, "result", "allowed");
+            this.rejected = meterRegistry.counter("http.server.requests.rate.limit", "rule", pattern, "result", "rejected");
+        }
+
+        private boolean matches(String path) {
+            if (prefix == null) {
+                return PATH_MATCHER.match(pattern, path);
+            }
+            return (
+                path.startsWith(prefix) &&
+                (path.length() == prefix.length() || (pattern.length() > prefix.length() && path.charAt(prefix.length()) == '/'))
+            );
+        }
+
+        private long acquire(int index, long now) {
+            while (true) {
+                long arrival = buckets.get(index);
+                long start = Math.max(arrival, now);
+                long wait = start - toleranceNanos - now;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (buckets.compareAndSet(index, arrival, start + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
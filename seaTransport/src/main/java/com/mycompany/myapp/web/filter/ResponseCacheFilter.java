@@ -0,0 +1,119 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.service.ResponseCacheService;
+import com.mycompany.myapp.service.ResponseCacheService.CachedResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves the {@code GET} requests of selected read-mostly endpoints from the {@link ResponseCacheService}.
+ * <p>
+ * Requests are keyed by path, normalized query string and authorities of the current user, as two users with the same
+ * authorities are served the same data by these endpoints. On a miss, the serialized JSON body is captured and stored
+ * with the pagination headers. This filter must run after the Spring Security filter chain.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final List<String> REPLAYED_HEADERS = Arrays.asList(HttpHeaders.LINK, "X-Total-Count");
+
+    private final ResponseCacheService responseCacheService;
+
+    private final Map<String, String> regionsByPath;
+
+    /**
+     * @param responseCacheService the response cache.
+     * @param regionsByPath the response cache region of each cached path, for instance {@code /api/statuses}.
+     */
+    public ResponseCacheFilter(ResponseCacheService responseCacheService, Map<String, String> regionsByPath) {
+        this.responseCacheService = responseCacheService;
+        this.regionsByPath = new HashMap<>(regionsByPath);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || !regionsByPath.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String region = regionsByPath.get(path(request));
+        String key = cacheKey(request);
+        CachedResponse cached = responseCacheService.get(region, key);
+        if (cached != null) {
+            replay(cached, response);
+            return;
+        }
+
+        long generation = responseCacheService.generation(region);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpStatus.OK.value()) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String header : REPLAYED_HEADERS) {
+                String value = responseWrapper.getHeader(header);
+                if (value != null) {
+                    headers.put(header, value);
+                }
+            }
+            responseCacheService.put(
+                region,
+                key,
+                generation,
+                new CachedResponse(responseWrapper.getContentAsByteArray(), responseWrapper.getContentType(), headers)
+            );
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void replay(CachedResponse cached, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.getContentType());
+        cached.getHeaders().forEach(response::setHeader);
+        response.setContentLength(cached.getBody().length);
+        response.getOutputStream().write(cached.getBody());
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Build the cache key of a request: parameters are sorted by name, but the order of the values of a parameter is
+     * kept, as it is significant for {@code sort}.
+     */
+    static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path(request)).append('?');
+        request
+            .getParameterMap()
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(parameter -> key.append(parameter.getKey()).append('=').append(String.join(",", parameter.getValue())).append('&'));
+        key.append('|');
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            key.append(
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().collect(Collectors.joining(","))
+            );
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.jdbc.SqlStatementMetrics;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements run by each request with the {@link SqlStatementMetrics}, and records them for the URI
+ * template of its endpoint, as the {@code uri} tag of {@code http.server.requests}.
+ */
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+
+    public SqlStatementFilter(SqlStatementMetrics sqlStatementMetrics) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        sqlStatementMetrics.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlStatementMetrics.endRequest(uri != null ? uri.toString() : "UNKNOWN");
+        }
+    }
+}
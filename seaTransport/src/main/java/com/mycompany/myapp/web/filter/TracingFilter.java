@@ -0,0 +1,38 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.tracing.Span;
+import com.mycompany.myapp.config.tracing.Tracer;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Traces the requests with the {@link Tracer}, each trace being named after the URI template of its endpoint.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        Span root = tracer.startTrace(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (root != null) {
+                Object endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String name = request.getMethod() + " " + (endpoint != null ? endpoint : request.getRequestURI());
+                tracer.endTrace(root, name, response.getStatus());
+            }
+        }
+    }
+}
@@ -5,13 +5,20 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.context.SpringBootTest;
 
 /**
  * Base composite annotation for integration tests.
+ * <p>
+ * The SQL statements of the test thread can be counted with the {@link SqlStatementCounter}.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-@SpringBootTest(classes = SeaTransportApp.class)
+@SpringBootTest(
+    classes = SeaTransportApp.class,
+    properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.mycompany.myapp.SqlStatementCounter"
+)
+@ExtendWith(SqlStatementCounter.class)
 public @interface IntegrationTest {
 }
@@ -0,0 +1,79 @@
+package com.mycompany.myapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Counts the SQL statements prepared by Hibernate on the current thread, so that tests can assert the number of
+ * statements of a MockMvc call, which runs on the test thread.
+ * <p>
+ * It is registered by {@link IntegrationTest} both as the Hibernate statement inspector and as a JUnit extension,
+ * which stops counting after each test. Counting starts with {@link #reset()}. As statements are only run when the
+ * persistence context is flushed, tests running in a transaction should flush it before asserting a budget, and
+ * clear it before the call, so that entities are not found in the first-level cache.
+ */
+public class SqlStatementCounter implements StatementInspector, AfterEachCallback {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        STATEMENTS.remove();
+    }
+
+    /**
+     * Start counting the statements of the current thread from zero.
+     */
+    public static void reset() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    /**
+     * Get the number of statements of a type counted since the last {@link #reset()}.
+     *
+     * @param type the type of statement: {@code select}, {@code insert}, {@code update} or {@code delete}.
+     * @return the number of statements.
+     */
+    public static long count(String type) {
+        return statements().stream().filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith(type)).count();
+    }
+
+    /**
+     * Assert that no more statements of each type were counted since the last {@link #reset()} than a budget.
+     *
+     * @param selects the maximum number of selects.
+     * @param inserts the maximum number of inserts.
+     * @param updates the maximum number of updates.
+     * @param deletes the maximum number of deletes.
+     */
+    public static void assertStatementBudget(long selects, long inserts, long updates, long deletes) {
+        String description = String.join("\n", statements());
+        assertThat(count("select")).as("selects in:%n%s", description).isLessThanOrEqualTo(selects);
+        assertThat(count("insert")).as("inserts in:%n%s", description).isLessThanOrEqualTo(inserts);
+        assertThat(count("update")).as("updates in:%n%s", description).isLessThanOrEqualTo(updates);
+        assertThat(count("delete")).as("deletes in:%n%s", description).isLessThanOrEqualTo(deletes);
+    }
+
+    private static List<String> statements() {
+        List<String> statements = STATEMENTS.get();
+        assertThat(statements).as("statements are counted after SqlStatementCounter.reset()").isNotNull();
+        return statements;
+    }
+}
@@ -0,0 +1,157 @@
+package com.mycompany.myapp.aop.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class CoalescingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SlowRepository target;
+
+    private SlowRepository proxy;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new SlowRepository();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CoalescingAspect(new ApplicationProperties(), meterRegistry));
+        proxy = factory.getProxy();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        target.release.countDown();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void testConcurrentEqualCallsShareOneExecution() throws Exception {
+        AtomicReference<String> leaderResult = new AtomicReference<>();
+        AtomicReference<String> followerResult = new AtomicReference<>();
+        Thread leader = new Thread(() -> leaderResult.set(proxy.find(1L)));
+        leader.start();
+        assertThat(target.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread follower = new Thread(() -> followerResult.set(proxy.find(1L)));
+        follower.start();
+        awaitWaiting(follower);
+        target.release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        assertThat(target.invocations).hasValue(1);
+        assertThat(followerResult.get()).isEqualTo("entity-1").isNotSameAs(leaderResult.get());
+        assertThat(meterRegistry.get("service.read.coalesced").tag("result", "shared").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFollowerRunsTheMethodAfterTimeout() throws Exception {
+        Thread leader = new Thread(() -> proxy.findWithShortTimeout(1L));
+        leader.start();
+        assertThat(target.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        target.blockOnlyFirstCall = true;
+        String result = proxy.findWithShortTimeout(1L);
+        target.release.countDown();
+        leader.join(5000);
+
+        assertThat(result).isEqualTo("entity-1");
+        assertThat(target.invocations).hasValue(2);
+        assertThat(meterRegistry.get("service.read.coalesced").tag("result", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testInterruptedFollowerGetsAnUncheckedException() throws Exception {
+        Thread leader = new Thread(() -> proxy.find(1L));
+        leader.start();
+        assertThat(target.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<Throwable> followerError = new AtomicReference<>();
+        Thread follower = new Thread(
+            () -> {
+                try {
+                    proxy.find(1L);
+                } catch (Throwable t) {
+                    followerError.set(t);
+                }
+            }
+        );
+        follower.start();
+        awaitWaiting(follower);
+        follower.interrupt();
+        follower.join(5000);
+        target.release.countDown();
+        leader.join(5000);
+
+        assertThat(followerError.get()).isInstanceOf(IllegalStateException.class).hasCauseInstanceOf(InterruptedException.class);
+    }
+
+    @Test
+    void testCallsWithinATransactionAreNotCoalesced() {
+        target.release.countDown();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        proxy.find(1L);
+        proxy.find(1L);
+
+        assertThat(target.invocations).hasValue(2);
+        assertThat(meterRegistry.find("service.read.coalesced").counter()).isNull();
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    static class SlowRepository {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private volatile boolean blockOnlyFirstCall;
+
+        @Coalesced
+        public String find(Long id) {
+            return load(id);
+        }
+
+        @Coalesced(timeoutMs = 10)
+        public String findWithShortTimeout(Long id) {
+            return load(id);
+        }
+
+        private String load(Long id) {
+            int invocation = invocations.incrementAndGet();
+            entered.countDown();
+            if (!blockOnlyFirstCall || invocation == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "entity-" + id;
+        }
+    }
+}
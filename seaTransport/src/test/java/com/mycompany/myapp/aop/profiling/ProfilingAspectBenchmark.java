@@ -0,0 +1,98 @@
+package com.mycompany.myapp.aop.profiling;
+
+import com.mycompany.myapp.aop.logging.LoggingAspect;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.ResponseCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Measures the overhead of the {@link ProfilingAspect} on a cheap service method, compared with a direct call, a proxy
+ * without advice and the {@link LoggingAspect} with debug disabled. Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfilingAspectBenchmark {
+
+    private ResponseCacheService direct;
+
+    private ResponseCacheService proxyWithoutAdvice;
+
+    private ResponseCacheService logged;
+
+    private ResponseCacheService profiled;
+
+    private ResponseCacheService sampled;
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        direct = new ResponseCacheService(applicationProperties, meterRegistry);
+        proxyWithoutAdvice = proxy(null);
+        logged = proxy(new LoggingAspect(new MockEnvironment()));
+        profiled = proxy(new ProfilingAspect(applicationProperties, meterRegistry));
+        ApplicationProperties sampledProperties = new ApplicationProperties();
+        sampledProperties.getProfiling().setSampleOneIn(8);
+        sampled = proxy(new ProfilingAspect(sampledProperties, meterRegistry));
+    }
+
+    @Benchmark
+    public long directCall() {
+        return direct.generation(ResponseCacheService.STATUSES);
+    }
+
+    @Benchmark
+    public long proxyWithoutAdvice() {
+        return proxyWithoutAdvice.generation(ResponseCacheService.STATUSES);
+    }
+
+    @Benchmark
+    public long loggingAspect() {
+        return logged.generation(ResponseCacheService.STATUSES);
+    }
+
+    @Benchmark
+    public long profilingAspect() {
+        return profiled.generation(ResponseCacheService.STATUSES);
+    }
+
+    @Benchmark
+    public long profilingAspectSampled() {
+        return sampled.generation(ResponseCacheService.STATUSES);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long profilingAspectConcurrent() {
+        return profiled.generation(ResponseCacheService.STATUSES);
+    }
+
+    private ResponseCacheService proxy(Object aspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+            new ResponseCacheService(new ApplicationProperties(), new SimpleMeterRegistry())
+        );
+        proxyFactory.setProxyTargetClass(true);
+        if (aspect != null) {
+            proxyFactory.addAspect(aspect);
+        }
+        return proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,109 @@
+package com.mycompany.myapp.aop.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.PortRepository;
+import com.mycompany.myapp.repository.StatusRepository;
+import com.mycompany.myapp.service.ResponseCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+class ProfilingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+    }
+
+    @Test
+    void testEveryCallIsTimedByDefault() {
+        ProfilingAspect profilingAspect = new ProfilingAspect(applicationProperties, meterRegistry);
+        ResponseCacheService responseCacheService = proxy(profilingAspect);
+
+        for (int i = 0; i < 3; i++) {
+            responseCacheService.generation(ResponseCacheService.STATUSES);
+        }
+
+        assertThat(timerCount("generation")).isEqualTo(3);
+    }
+
+    @Test
+    void testCallsAreSampled() {
+        applicationProperties.getProfiling().setSampleOneIn(4);
+        ProfilingAspect profilingAspect = new ProfilingAspect(applicationProperties, meterRegistry);
+        ResponseCacheService responseCacheService = proxy(profilingAspect);
+
+        for (int i = 0; i < 4000; i++) {
+            responseCacheService.generation(ResponseCacheService.STATUSES);
+        }
+
+        assertThat(timerCount("generation")).isBetween(700L, 1300L);
+        ProfilingAspect.MethodStatistics statistics = profilingAspect.getSlowestMethods(10).get(0);
+        assertThat(statistics.getMethod()).isEqualTo("ResponseCacheService.generation");
+        assertThat(statistics.getEstimatedCalls()).isEqualTo(4 * statistics.getSampledCalls());
+    }
+
+    @Test
+    void testSlowestMethodsAreLimited() {
+        ProfilingAspect profilingAspect = new ProfilingAspect(applicationProperties, meterRegistry);
+        ResponseCacheService responseCacheService = proxy(profilingAspect);
+
+        responseCacheService.generation(ResponseCacheService.STATUSES);
+        responseCacheService.invalidate(ResponseCacheService.STATUSES);
+        responseCacheService.get(ResponseCacheService.STATUSES, "key");
+
+        assertThat(profilingAspect.getSlowestMethods(10))
+            .extracting(ProfilingAspect.MethodStatistics::getMethod)
+            .containsExactlyInAnyOrder(
+                "ResponseCacheService.generation",
+                "ResponseCacheService.invalidate",
+                "ResponseCacheService.get"
+            );
+        List<ProfilingAspect.MethodStatistics> slowest = profilingAspect.getSlowestMethods(2);
+        assertThat(slowest).hasSize(2);
+        assertThat(slowest.get(0).getP99Ms()).isGreaterThanOrEqualTo(slowest.get(1).getP99Ms());
+    }
+
+    @Test
+    void testInheritedRepositoryMethodsAreTimedPerRepository() {
+        ProfilingAspect profilingAspect = new ProfilingAspect(applicationProperties, meterRegistry);
+        StatusRepository statusRepository = repositoryProxy(profilingAspect, StatusRepository.class);
+        PortRepository portRepository = repositoryProxy(profilingAspect, PortRepository.class);
+
+        statusRepository.findAll();
+        portRepository.findAll();
+
+        assertThat(profilingAspect.getSlowestMethods(10))
+            .extracting(ProfilingAspect.MethodStatistics::getMethod)
+            .containsExactlyInAnyOrder("StatusRepository.findAll", "PortRepository.findAll");
+    }
+
+    private <T> T repositoryProxy(ProfilingAspect profilingAspect, Class<T> repositoryInterface) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(mock(repositoryInterface));
+        proxyFactory.setInterfaces(repositoryInterface);
+        proxyFactory.addAspect(profilingAspect);
+        return proxyFactory.getProxy();
+    }
+
+    private ResponseCacheService proxy(ProfilingAspect profilingAspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new ResponseCacheService(applicationProperties, meterRegistry));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(profilingAspect);
+        return proxyFactory.getProxy();
+    }
+
+    private long timerCount(String method) {
+        return meterRegistry.get("method.duration").tag("class", "ResponseCacheService").tag("method", method).timer().count();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mycompany.myapp.aop.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.tracing.Span;
+import com.mycompany.myapp.config.tracing.TraceStore;
+import com.mycompany.myapp.config.tracing.Tracer;
+import com.mycompany.myapp.domain.Port;
+import com.mycompany.myapp.service.ResponseCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+
+class TracingAspectTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private TraceStore traceStore;
+
+    private Tracer tracer;
+
+    private TracingAspect tracingAspect;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        traceStore = new TraceStore(applicationProperties, new ObjectMapper());
+        tracer = new Tracer(applicationProperties, traceStore);
+        tracingAspect = new TracingAspect(tracer);
+    }
+
+    @Test
+    void testServiceAndRepositoryMethodsAreSpansOfTheTrace() {
+        ResponseCacheService responseCacheService = proxy(new ResponseCacheService(applicationProperties, new SimpleMeterRegistry()));
+        PortNameRepository portNameRepository = proxy(new PortNames());
+
+        Span root = tracer.startTrace("GET /api/ports/1");
+        responseCacheService.generation(ResponseCacheService.PORTS);
+        assertThat(portNameRepository.findNameById(1L)).isEqualTo("port-1");
+        tracer.endTrace(root, "GET /api/ports/{id}", 200);
+
+        assertThat(traceStore.getSlowestTraces(0, 10)).hasSize(1);
+        assertThat(traceStore.getSlowestTraces(0, 10).get(0).getSpans())
+            .extracting(Span::getKind, Span::getName)
+            .containsExactly(
+                tuple(Span.REQUEST, "GET /api/ports/1"),
+                tuple(Span.SERVICE, "ResponseCacheService.generation"),
+                tuple(Span.REPOSITORY, "PortNameRepository.findNameById")
+            );
+    }
+
+    @Test
+    void testNothingIsRecordedOutsideOfATrace() {
+        PortNameRepository portNameRepository = proxy(new PortNames());
+
+        assertThat(portNameRepository.findNameById(2L)).isEqualTo("port-2");
+        assertThat(tracer.isTracing()).isFalse();
+        assertThat(traceStore.getSlowestTraces(0, 10)).isEmpty();
+    }
+
+    private <T> T proxy(Object target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(tracingAspect);
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * A Spring Data repository, matched by its type rather than by its package, as its proxy is generated.
+     */
+    interface PortNameRepository extends Repository<Port, Long> {
+        String findNameById(Long id);
+    }
+
+    static class PortNames implements PortNameRepository {
+
+        @Override
+        public String findNameById(Long id) {
+            return "port-" + id;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheRegionMetricsTest {
+
+    private CacheManager cacheManager;
+
+    private MeterRegistry meterRegistry;
+
+    private CacheRegionMetrics cacheRegionMetrics;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager = Caching.getCachingProvider("org.ehcache.jsr107.EhcacheCachingProvider").getCacheManager();
+        MutableConfiguration<Object, Object> configuration = new MutableConfiguration<>().setStatisticsEnabled(true);
+        cacheManager.createCache("cold", configuration);
+        cacheManager.createCache("hot", configuration);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheRegionMetrics = new CacheRegionMetrics(cacheManager, new ApplicationProperties.Cache.Metrics());
+        cacheRegionMetrics.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testHitsAndMissesAreExported() {
+        Cache<Object, Object> cache = cacheManager.getCache("hot");
+        cache.put("present", "value");
+        cache.get("present");
+        cache.get("absent");
+
+        assertThat(meterRegistry.get("cache.region.gets").tags("region", "hot", "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.region.gets").tags("region", "hot", "result", "miss").functionCounter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.region.puts").tags("region", "hot").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSamplingEstimatesSizeAndMemory() {
+        Cache<Object, Object> cache = cacheManager.getCache("hot");
+        for (int i = 0; i < 50; i++) {
+            cache.put("key-" + i, "value-" + i);
+        }
+
+        cacheRegionMetrics.sampleRegions();
+
+        assertThat(meterRegistry.get("cache.region.size").tags("region", "hot").gauge().value()).isEqualTo(50);
+        assertThat(meterRegistry.get("cache.region.memory").tags("region", "hot").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("cache.region.size").tags("region", "cold").gauge().value()).isZero();
+    }
+
+    @Test
+    void testRegionsAreRankedByMissCost() {
+        Cache<Object, Object> cold = cacheManager.getCache("cold");
+        for (int i = 0; i < 10; i++) {
+            cold.get("absent-" + i);
+        }
+        cacheManager.getCache("hot").get("absent");
+
+        List<CacheRegionMetrics.RegionStatistics> statistics = cacheRegionMetrics.getRegionStatistics();
+
+        assertThat(statistics).extracting(CacheRegionMetrics.RegionStatistics::getRegion).containsExactly("cold", "hot");
+        assertThat(statistics.get(0).getMisses()).isEqualTo(10);
+        assertThat(statistics.get(0).getHitRatio()).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.mycompany.myapp.config.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ConnectionMonitorTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private ConnectionMonitor connectionMonitor;
+
+    private StatementTimingDataSource dataSource;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        connectionMonitor = new ConnectionMonitor(applicationProperties, meterRegistry);
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:connection-monitoring;DB_CLOSE_DELAY=-1");
+        dataSource =
+            new StatementTimingDataSource(h2, () -> StatementListener.of(Collections.emptyList()), () -> connectionMonitor);
+    }
+
+    @Test
+    void testWaitAndHoldTimesAreRecorded() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connectionMonitor.getLeases()).hasSize(1);
+        }
+
+        assertThat(connectionMonitor.getLeases()).isEmpty();
+        assertThat(meterRegistry.get("jdbc.connections.wait").tag("endpoint", "none").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jdbc.connections.hold").tag("endpoint", "none").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jdbc.connections.hold").timer().getId().getTag("service")).isNull();
+        assertThat(meterRegistry.get("jdbc.connections.hold.by.service").tag("service", "none").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testClosingTwiceReleasesOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(meterRegistry.get("jdbc.connections.hold").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testConnectionHeldTooLongIsReportedOnceWithItsStack() throws SQLException {
+        applicationProperties.getConnectionMonitoring().setLeakThresholdMs(0);
+        try (Connection connection = dataSource.getConnection()) {
+            connectionMonitor.detectLeaks();
+            connectionMonitor.detectLeaks();
+        }
+
+        assertThat(connectionMonitor.getLeaks()).hasSize(1);
+        assertThat(connectionMonitor.getLeaks().get(0).getStack())
+            .anyMatch(frame -> frame.contains("testConnectionHeldTooLongIsReportedOnceWithItsStack"));
+        assertThat(meterRegistry.get("jdbc.connections.leaks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testTransactionsAreTimed() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+            new ListeningTransactionManager(
+                new DataSourceTransactionManager(dataSource),
+                () -> Collections.singletonList(new TransactionTimer(meterRegistry))
+            )
+        );
+        transactionTemplate.setName("com.mycompany.myapp.service.PortService.findAll");
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> transactionTemplate.executeWithoutResult(nested -> {}));
+
+        assertThat(
+            meterRegistry
+                .get("transaction.duration")
+                .tag("name", "PortService.findAll")
+                .tag("read.only", "true")
+                .tag("outcome", "commit")
+                .timer()
+                .count()
+        )
+            .isEqualTo(1);
+    }
+}
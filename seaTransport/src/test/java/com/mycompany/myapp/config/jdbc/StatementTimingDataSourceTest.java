@@ -0,0 +1,114 @@
+package com.mycompany.myapp.config.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementTimingDataSourceTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SqlStatementMetrics sqlStatementMetrics;
+
+    private StatementTimingDataSource dataSource;
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSqlStatistics().setRepeatedStatementThreshold(3);
+        sqlStatementMetrics = new SqlStatementMetrics(applicationProperties, meterRegistry);
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statement-timing;DB_CLOSE_DELAY=-1");
+        dataSource = new StatementTimingDataSource(h2, () -> sqlStatementMetrics);
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table item (id bigint primary key, name varchar(50))");
+            statement.execute("insert into item values (1, 'first'), (2, 'second')");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table item");
+        }
+        connection.close();
+    }
+
+    @Test
+    void testStatementsAreTimedByType() throws SQLException {
+        selectById(1);
+        selectById(2);
+
+        assertThat(meterRegistry.get("sql.statements").tag("type", "select").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("sql.statements").tag("type", "insert").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("sql.statements").tag("type", "other").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testStatementsAreCountedPerRequest() throws SQLException {
+        sqlStatementMetrics.beginRequest("GET /api/items");
+        selectById(1);
+        selectById(2);
+        sqlStatementMetrics.endRequest("/api/items");
+
+        assertThat(meterRegistry.get("http.server.requests.sql.statements").tag("uri", "/api/items").summary().totalAmount())
+            .isEqualTo(2);
+        assertThat(meterRegistry.find("http.server.requests.sql.repeated").counter()).isNull();
+    }
+
+    @Test
+    void testRequestRepeatingTheSameStatementIsFlagged() throws SQLException {
+        sqlStatementMetrics.beginRequest("GET /api/items");
+        for (int i = 0; i < 4; i++) {
+            selectById(i);
+        }
+        sqlStatementMetrics.endRequest("/api/items");
+
+        assertThat(meterRegistry.get("http.server.requests.sql.repeated").tag("uri", "/api/items").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testStatementsWithLiteralsAreCountedByShape() throws SQLException {
+        sqlStatementMetrics.beginRequest("GET /api/items");
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 4; i++) {
+                statement.executeQuery("select name from item where id = " + i + " and name <> 'it''s'").close();
+            }
+        }
+        sqlStatementMetrics.endRequest("/api/items");
+
+        assertThat(meterRegistry.get("http.server.requests.sql.repeated").tag("uri", "/api/items").counter().count()).isEqualTo(1);
+        assertThat(SqlStatementMetrics.withoutLiterals("select name from item where id = 3 and name <> 'it''s'"))
+            .isEqualTo("select name from item where id = ? and name <> ?");
+    }
+
+    @Test
+    void testPoolCanStillBeUnwrapped() throws SQLException {
+        assertThat(dataSource.isWrapperFor(JdbcDataSource.class)).isTrue();
+        assertThat(connection.isWrapperFor(org.h2.jdbc.JdbcConnection.class)).isTrue();
+    }
+
+    private void selectById(long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select name from item where id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.config.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ContinuousProfilerTest {
+
+    private static final List<byte[]> SINK = new ArrayList<>();
+
+    private ContinuousProfiler continuousProfiler;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getContinuousProfiling().setWindows(2);
+        continuousProfiler = new ContinuousProfiler(applicationProperties, Clock.systemUTC());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        continuousProfiler.stop();
+        SINK.clear();
+    }
+
+    @Test
+    void testAllocationsOfTheApplicationAreAggregatedByStack() {
+        continuousProfiler.rotate();
+        allocate();
+        continuousProfiler.rotate();
+
+        StackAggregate allocations = continuousProfiler.getAggregate(ContinuousProfiler.ALLOCATION, null);
+        String allocate = ContinuousProfilerTest.class.getName() + ".allocate";
+        StackAggregate.Hotspot top = allocations.topHotspots(1).get(0);
+        assertThat(top.getHotspot()).startsWith(allocate + " (");
+        assertThat(top.getWeight()).isGreaterThanOrEqualTo(64L * 1024 * 1024);
+        assertThat(allocations.collapsedStacks()).contains(allocate + ";");
+    }
+
+    @Test
+    void testOnlyTheLastWindowsAreKept() {
+        for (int i = 0; i < 4; i++) {
+            continuousProfiler.rotate();
+        }
+
+        assertThat(continuousProfiler.windows(null)).hasSize(2);
+        assertThat(continuousProfiler.getAggregate("unknown", null)).isNull();
+    }
+
+    @Test
+    void testStacksBeyondTheBoundAreMergedIntoOther() {
+        StackAggregate aggregate = new StackAggregate(2);
+        aggregate.add(new String[] { "a", "b" }, "b", 1);
+        aggregate.add(new String[] { "a", "c" }, "c", 2);
+        aggregate.add(new String[] { "a", "d" }, "d", 4);
+        aggregate.add(new String[] { "a", "b" }, "b", 8);
+        aggregate.addUnattributed(16);
+
+        assertThat(aggregate.getTotal()).isEqualTo(31);
+        assertThat(aggregate.topHotspots(3))
+            .extracting(StackAggregate.Hotspot::getHotspot, StackAggregate.Hotspot::getWeight)
+            .containsExactly(
+                tuple("b", 9L),
+                tuple(StackAggregate.OTHER, 4L),
+                tuple("c", 2L)
+            );
+        assertThat(aggregate.collapsedStacks()).isEqualTo("a;b 9\n" + StackAggregate.OTHER + " 4\na;c 2\n");
+    }
+
+    private static void allocate() {
+        for (int i = 0; i < 64; i++) {
+            SINK.add(new byte[1024 * 1024]);
+        }
+    }
+}
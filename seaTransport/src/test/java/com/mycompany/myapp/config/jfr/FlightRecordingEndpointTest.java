@@ -0,0 +1,126 @@
+package com.mycompany.myapp.config.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.jdbc.ListeningTransactionManager;
+import com.mycompany.myapp.config.jdbc.TransactionListener;
+import com.mycompany.myapp.web.filter.FlightRecorderFilter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.HandlerMapping;
+
+class FlightRecordingEndpointTest {
+
+    private FlightRecordingEndpoint endpoint;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        endpoint = new FlightRecordingEndpoint(new ApplicationProperties());
+        cacheManager = Caching.getCachingProvider("org.ehcache.jsr107.EhcacheCachingProvider").getCacheManager();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        endpoint.stop();
+        cacheManager.close();
+    }
+
+    @Test
+    void testNothingToDownloadBeforeStart() {
+        assertThat(endpoint.download()).isNull();
+        assertThat(endpoint.stop()).isNull();
+    }
+
+    @Test
+    void testRecordingHasTheApplicationEvents() throws Exception {
+        assertThat(endpoint.start(null).getState()).isEqualTo("RUNNING");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ports/1");
+        new FlightRecorderFilter()
+            .doFilter(
+                request,
+                new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest req, ServletResponse res) {
+                        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/ports/{id}");
+                        ((HttpServletResponse) res).setStatus(404);
+                    }
+                }
+            );
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:flight-recording;DB_CLOSE_DELAY=-1");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+            new ListeningTransactionManager(
+                new DataSourceTransactionManager(h2),
+                () -> Collections.singletonList(new FlightRecorderTransactionListener())
+            )
+        );
+        transactionTemplate.setName("test-transaction");
+        transactionTemplate.executeWithoutResult(status -> {});
+
+        Cache<Object, Object> cache = FlightRecorderCacheManager
+            .wrap(cacheManager)
+            .createCache("flight-recording", new MutableConfiguration<>());
+        cache.put(1L, "port");
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(endpoint.stop().getState()).isEqualTo("STOPPED");
+        List<RecordedEvent> events = events(endpoint.download());
+
+        RecordedEvent httpRequest = only(events, "com.mycompany.myapp.HttpRequest");
+        assertThat(httpRequest.getString("method")).isEqualTo("GET");
+        assertThat(httpRequest.getString("endpoint")).isEqualTo("/api/ports/{id}");
+        assertThat(httpRequest.getInt("status")).isEqualTo(404);
+
+        RecordedEvent transaction = only(events, "com.mycompany.myapp.Transaction");
+        assertThat(transaction.getString("name")).isEqualTo("test-transaction");
+        assertThat(transaction.getString("outcome")).isEqualTo(TransactionListener.COMMIT);
+
+        List<Boolean> hits = events
+            .stream()
+            .filter(event -> event.getEventType().getName().equals("com.mycompany.myapp.CacheLookup"))
+            .map(event -> event.getBoolean("hit"))
+            .collect(Collectors.toList());
+        assertThat(hits).containsExactly(true, false);
+    }
+
+    private static List<RecordedEvent> events(Resource recording) throws IOException {
+        return RecordingFile.readAllEvents(recording.getFile().toPath());
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> named = events
+            .stream()
+            .filter(event -> event.getEventType().getName().equals(name))
+            .collect(Collectors.toList());
+        assertThat(named).hasSize(1);
+        return named.get(0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.mycompany.myapp.config.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MeterCardinalityGovernorTest {
+
+    private MeterRegistry meterRegistry;
+
+    private MeterCardinalityGovernor governor;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMetricsGovernor().setMaxTagValues(3);
+        applicationProperties.getMetricsGovernor().setPercentiles(Arrays.asList(0.5, 0.99));
+        governor = new MeterCardinalityGovernor(applicationProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(governor);
+    }
+
+    @Test
+    void testTagValuesBeyondTheCapAreCollapsed() {
+        for (int i = 0; i < 5; i++) {
+            meterRegistry.counter("orders.created", "customer", "customer-" + i).increment();
+        }
+
+        assertThat(meterRegistry.get("orders.created").counters()).hasSize(4);
+        assertThat(meterRegistry.get("orders.created").tag("customer", MeterCardinalityGovernor.OTHER).counter().count())
+            .isEqualTo(2);
+        assertThat(governor.getCollapsedByMeter()).containsEntry("orders.created", 2L);
+    }
+
+    @Test
+    void testUnknownUrisAreCollapsedOnceTheTemplatesAreKnown() {
+        governor.setKnownUris(new HashSet<>(Collections.singletonList("/api/ports/{id}")));
+
+        meterRegistry.timer("http.server.requests", "uri", "/api/ports/{id}").record(Duration.ofMillis(1));
+        meterRegistry.timer("http.server.requests", "uri", "/api/ports/1/../2").record(Duration.ofMillis(1));
+        meterRegistry.timer("http.server.requests", "uri", "NOT_FOUND").record(Duration.ofMillis(1));
+
+        assertThat(meterRegistry.get("http.server.requests").timers()).hasSize(3);
+        assertThat(meterRegistry.get("http.server.requests").tag("uri", MeterCardinalityGovernor.UNKNOWN).timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testOnlyAllowlistedMetersHaveHistograms() {
+        Timer allowed = Timer.builder("http.server.requests").register(meterRegistry);
+        Timer other = Timer.builder("method.duration").publishPercentileHistogram().register(meterRegistry);
+        allowed.record(Duration.ofMillis(1));
+        other.record(Duration.ofMillis(1));
+
+        assertThat(allowed.takeSnapshot().percentileValues()).hasSize(2);
+        assertThat(other.takeSnapshot().percentileValues()).isEmpty();
+        // The simple registry does not publish the buckets of percentile histograms: check the configuration instead
+        DistributionStatisticConfig histogram = DistributionStatisticConfig.builder().percentilesHistogram(true).build();
+        assertThat(governor.configure(allowed.getId(), DistributionStatisticConfig.DEFAULT).isPercentileHistogram()).isTrue();
+        assertThat(governor.configure(other.getId(), histogram).isPercentileHistogram()).isFalse();
+    }
+
+    @Test
+    void testAdministrationMetersKeepTheirPercentiles() {
+        Timer acquire = Timer.builder("hikaricp.connections.acquire").register(meterRegistry);
+        Timer pause = Timer.builder("jvm.gc.pause").register(meterRegistry);
+        acquire.record(Duration.ofMillis(1));
+        pause.record(Duration.ofMillis(1));
+
+        assertThat(acquire.takeSnapshot().percentileValues()).hasSize(2);
+        assertThat(acquire.takeSnapshot().histogramCounts()).isEmpty();
+        assertThat(pause.takeSnapshot().percentileValues()).hasSize(2);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.myapp.config.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of tracing a typical request, a service calling a repository which runs a few statements, when
+ * every request is traced and with the sampling shipped in the configuration. Run with {@code -prof gc} to see the
+ * allocations per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TracerBenchmark {
+
+    @Param({ "1", "100" })
+    private int sampleOneIn;
+
+    private Tracer tracer;
+
+    @Setup
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getTracing().setSampleOneIn(sampleOneIn);
+        tracer = new Tracer(applicationProperties, new TraceStore(applicationProperties, new ObjectMapper()));
+    }
+
+    @Benchmark
+    public Span request() {
+        Span root = tracer.startTrace("GET /api/orders/1");
+        Span service = tracer.startSpan(Span.SERVICE, "OrderService.findOne");
+        Span repository = tracer.startSpan(Span.REPOSITORY, "OrderRepository.findById");
+        for (int i = 0; i < 3; i++) {
+            tracer.recordSpan(Span.JDBC, "select * from jhi_order where id=?", 1000);
+        }
+        tracer.endSpan(repository);
+        tracer.endSpan(service);
+        tracer.endTrace(root, "GET /api/orders/{id}", 200);
+        return root;
+    }
+}
@@ -0,0 +1,146 @@
+package com.mycompany.myapp.config.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TracerTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private TraceStore traceStore;
+
+    private Tracer tracer;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getTracing().setCapacity(3);
+        applicationProperties.getTracing().setMaxSpansPerTrace(4);
+        traceStore = new TraceStore(applicationProperties, new ObjectMapper());
+        tracer = new Tracer(applicationProperties, traceStore);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSpansAreRecordedUnderTheirParent() throws Exception {
+        Span root = tracer.startTrace("GET /api/ports/1");
+        Span service = tracer.startSpan(Span.SERVICE, "PortService.findOne");
+        tracer.recordSpan(Span.JDBC, "select * from port where id=?", TimeUnit.MILLISECONDS.toNanos(2));
+        executor.submit(tracer.wrap(() -> {}, "task")).get();
+        tracer.endSpan(service);
+        tracer.endTrace(root, "GET /api/ports/{id}", 200);
+
+        assertThat(tracer.isTracing()).isFalse();
+        Trace trace = traceStore.getTrace(root.trace().getId());
+        assertThat(trace.getName()).isEqualTo("GET /api/ports/{id}");
+        assertThat(trace.getStatus()).isEqualTo(200);
+        List<Span> spans = trace.getSpans();
+        assertThat(spans).extracting(Span::getKind).containsExactly(Span.REQUEST, Span.SERVICE, Span.JDBC, Span.ASYNC);
+        assertThat(spans).extracting(Span::getParentId).containsExactly(null, 0, 1, 1);
+        assertThat(spans.get(2).getDurationMs()).isEqualTo(2.0);
+        assertThat(trace.getSelfTimeMsByKind()).containsKeys(Span.REQUEST, Span.SERVICE, Span.JDBC, Span.ASYNC);
+        assertThat(trace.getSelfTimeMsByKind().get(Span.JDBC)).isEqualTo(2.0);
+    }
+
+    @Test
+    void testSpansBeyondTheBoundAreDropped() {
+        Span root = tracer.startTrace("GET /api/orders");
+        for (int i = 0; i < 5; i++) {
+            tracer.endSpan(tracer.startSpan(Span.REPOSITORY, "OrderRepository.findAll"));
+        }
+        tracer.endTrace(root, "GET /api/orders", 200);
+
+        assertThat(root.trace().getSpans()).hasSize(4);
+        assertThat(root.trace().getDroppedSpans()).isEqualTo(2);
+    }
+
+    @Test
+    void testNothingIsRecordedOutsideOfATrace() {
+        assertThat(tracer.startSpan(Span.SERVICE, "UserService.removeNotActivatedUsers")).isNull();
+        tracer.recordSpan(Span.JDBC, "delete from jhi_user", 1);
+
+        assertThat(traceStore.getSlowestTraces(0, 10)).isEmpty();
+    }
+
+    @Test
+    void testTraceIsIncompleteUntilItsAsyncTasksHaveRun() throws Exception {
+        Span root = tracer.startTrace("POST /api/account/reset-password/init");
+        Runnable task = tracer.wrap(() -> {}, "sendEmail");
+        tracer.endTrace(root, "POST /api/account/reset-password/init", 200);
+
+        assertThat(root.trace().isComplete()).isFalse();
+        executor.submit(task).get();
+        assertThat(root.trace().isComplete()).isTrue();
+    }
+
+    @Test
+    void testTracesAreAppendedToTheFileOnceComplete(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("traces.json");
+        applicationProperties.getTracing().setFile(file.toString());
+        traceStore = new TraceStore(applicationProperties, new ObjectMapper());
+        tracer = new Tracer(applicationProperties, traceStore);
+        try {
+            Span root = tracer.startTrace("POST /api/register");
+            Runnable task = tracer.wrap(() -> {}, "sendEmail");
+            tracer.endTrace(root, "POST /api/register", 201);
+            Thread.sleep(1500);
+            assertThat(Files.size(file)).isZero();
+
+            executor.submit(task).get();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (Files.size(file) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+
+            JsonNode trace = new ObjectMapper().readTree(Files.readAllLines(file).get(0));
+            assertThat(trace.get("spans")).hasSize(2);
+            trace.get("spans").forEach(span -> assertThat(span.get("durationMs").asDouble()).isNotNegative());
+        } finally {
+            traceStore.stop();
+        }
+    }
+
+    @Test
+    void testNoTraceIsKeptWithoutCapacity() {
+        applicationProperties.getTracing().setCapacity(0);
+        traceStore = new TraceStore(applicationProperties, new ObjectMapper());
+        tracer = new Tracer(applicationProperties, traceStore);
+
+        tracer.endTrace(tracer.startTrace("GET /api/ports"), "GET /api/ports", 200);
+
+        assertThat(traceStore.getSlowestTraces(0, 10)).isEmpty();
+    }
+
+    @Test
+    void testOnlyTheLastTracesAreKeptAndTheSlowestComeFirst() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Span root = tracer.startTrace("GET /api/customers");
+            Thread.sleep(i);
+            tracer.endTrace(root, "GET /api/customers", 200);
+        }
+
+        List<Trace> slowest = traceStore.getSlowestTraces(0, 10);
+        assertThat(slowest).hasSize(3);
+        assertThat(slowest.get(0).getDurationMs()).isGreaterThanOrEqualTo(slowest.get(2).getDurationMs());
+    }
+}
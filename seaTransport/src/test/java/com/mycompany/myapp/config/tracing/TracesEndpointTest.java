@@ -0,0 +1,52 @@
+package com.mycompany.myapp.config.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TracesEndpointTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private Tracer tracer;
+
+    private TracesEndpoint tracesEndpoint;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getTracing().setTopN(2);
+        TraceStore traceStore = new TraceStore(applicationProperties, new ObjectMapper());
+        tracer = new Tracer(applicationProperties, traceStore);
+        tracesEndpoint = new TracesEndpoint(traceStore, applicationProperties);
+    }
+
+    @Test
+    void testSlowestTracesAreLimitedToTheTopN() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Span root = tracer.startTrace("GET /api/ports");
+            Thread.sleep(i * 5L);
+            tracer.endTrace(root, "GET /api/ports", 200);
+        }
+
+        List<Trace> slowest = tracesEndpoint.slowestTraces(null, null);
+        assertThat(slowest).hasSize(2);
+        assertThat(slowest.get(0).getDurationMs()).isGreaterThanOrEqualTo(slowest.get(1).getDurationMs());
+        assertThat(tracesEndpoint.slowestTraces(1, 3)).hasSize(3);
+    }
+
+    @Test
+    void testTraceIsFoundById() {
+        Span root = tracer.startTrace("GET /api/ports/1");
+        tracer.endTrace(root, "GET /api/ports/{id}", 404);
+
+        Trace trace = tracesEndpoint.trace(root.trace().getId());
+        assertThat(trace.getName()).isEqualTo("GET /api/ports/{id}");
+        assertThat(trace.getStatus()).isEqualTo(404);
+        assertThat(tracesEndpoint.trace("unknown")).isNull();
+    }
+}
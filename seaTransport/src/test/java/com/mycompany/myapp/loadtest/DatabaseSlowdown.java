@@ -0,0 +1,61 @@
+package com.mycompany.myapp.loadtest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Slows the database down on demand: while a delay is set, every connection is held for that delay before being
+ * handed out, as when each transaction waits for a slow database, so the connection pool and the web server threads
+ * fill up.
+ */
+public class DatabaseSlowdown implements BeanPostProcessor {
+
+    private volatile long delayMs;
+
+    public void setDelayMs(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof SlowDataSource)) {
+            return new SlowDataSource((DataSource) bean);
+        }
+        return bean;
+    }
+
+    private class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return slowDown(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return slowDown(super.getConnection(username, password));
+        }
+
+        private Connection slowDown(Connection connection) throws SQLException {
+            long delay = delayMs;
+            if (delay > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    connection.close();
+                    throw new SQLException("Interrupted while slowed down", e);
+                }
+            }
+            return connection;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.mycompany.myapp.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the requests of a {@link Scenario} at a fixed rate, whatever the response times (an open workload model), and
+ * records their responses in the {@link PhaseStatistics} of the phase they were due in.
+ * <p>
+ * The requests of the warmup are sent, but not recorded. The requests are drawn from a fixed random seed, so that two
+ * runs with the same settings send the same requests.
+ */
+public class LoadGenerator {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final HttpClient httpClient = HttpClient
+        .newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    private final LoadTestSettings settings;
+
+    private final Workload workload;
+
+    private final Consumer<Scenario.Phase> phaseListener;
+
+    public LoadGenerator(LoadTestSettings settings, Workload workload, Consumer<Scenario.Phase> phaseListener) {
+        this.settings = settings;
+        this.workload = workload;
+        this.phaseListener = phaseListener;
+    }
+
+    public List<PhaseStatistics> run() throws InterruptedException {
+        Scenario scenario = settings.getScenario();
+        List<PhaseStatistics> statistics = new ArrayList<>();
+        scenario.phases(settings.getDurationSeconds()).forEach(phase -> statistics.add(new PhaseStatistics(phase)));
+        Semaphore inFlight = new Semaphore(settings.getMaxInFlight());
+        Random random = new Random(42);
+        long periodNanos = NANOS_PER_SECOND / settings.getRate();
+        long start = System.nanoTime();
+        long measurementStart = start + settings.getWarmupSeconds() * NANOS_PER_SECOND;
+        long end = measurementStart + settings.getDurationSeconds() * NANOS_PER_SECOND;
+        log.info(
+            "Running the {} scenario at {} requests per second: {} s of warmup, then {} s",
+            scenario,
+            settings.getRate(),
+            settings.getWarmupSeconds(),
+            settings.getDurationSeconds()
+        );
+
+        PhaseStatistics current = null;
+        for (long i = 0;; i++) {
+            long due = start + i * periodNanos;
+            if (due >= end) {
+                break;
+            }
+            long delay = due - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            PhaseStatistics phaseStatistics = due < measurementStart ? null : phaseAt(statistics, due - measurementStart);
+            if (phaseStatistics != current) {
+                current = phaseStatistics;
+                log.info("Starting the {} phase", current.getPhase().getName());
+                phaseListener.accept(current.getPhase());
+            }
+            Workload.Request request = scenario.next(workload, random);
+            if (!inFlight.tryAcquire()) {
+                if (phaseStatistics != null) {
+                    phaseStatistics.drop();
+                }
+                continue;
+            }
+            httpClient
+                .sendAsync(request.getHttpRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete(
+                    (response, error) -> {
+                        inFlight.release();
+                        if (phaseStatistics != null) {
+                            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+                            phaseStatistics.record(request.getOperation(), latencyMicros, response != null ? response.statusCode() : -1);
+                        }
+                    }
+                );
+        }
+
+        if (!inFlight.tryAcquire(settings.getMaxInFlight(), DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Requests were still awaiting their response {} s after the end of the test", DRAIN_TIMEOUT_SECONDS);
+        }
+        return statistics;
+    }
+
+    private static PhaseStatistics phaseAt(List<PhaseStatistics> statistics, long elapsedNanos) {
+        PhaseStatistics result = statistics.get(0);
+        for (PhaseStatistics phaseStatistics : statistics) {
+            if (elapsedNanos >= phaseStatistics.getPhase().getStartSecond() * NANOS_PER_SECOND) {
+                result = phaseStatistics;
+            }
+        }
+        return result;
+    }
+}
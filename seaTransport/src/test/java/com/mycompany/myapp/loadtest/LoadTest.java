@@ -0,0 +1,113 @@
+package com.mycompany.myapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.SeaTransportApp;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Load test of the application: boots it against H2 with the "loadtest" profile, seeds the database, authenticates
+ * through {@code /api/authenticate}, then runs a {@link Scenario} at a target rate and reports the throughput and the
+ * latency percentiles of each phase.
+ * <p>
+ * Run it with {@code ./mvnw -Ploadtest -DskipTests test -Dloadtest.scenario=mixed -Dloadtest.rate=200}, see
+ * {@link LoadTestSettings} for the other settings.
+ */
+public class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        DatabaseSlowdown databaseSlowdown = new DatabaseSlowdown();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SeaTransportApp.class)
+            .profiles("loadtest")
+            .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(databaseSlowdown))
+            .run(args);
+        int exitCode = 0;
+        try {
+            SeedData seedData = new SeedData(
+                new JdbcTemplate(context.getBean(DataSource.class)),
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+            );
+            seedData.seed(settings);
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            Workload workload = new Workload(baseUri, authenticate(baseUri, settings.getTokens()), settings);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            LoadGenerator loadGenerator = new LoadGenerator(
+                settings,
+                workload,
+                phase -> {
+                    logConcurrencyLimits(meterRegistry);
+                    databaseSlowdown.setDelayMs(phase.isDatabaseSlowdown() ? settings.getSlowdownMs() : 0);
+                }
+            );
+            List<PhaseStatistics> statistics = loadGenerator.run();
+            logConcurrencyLimits(meterRegistry);
+            report(settings, statistics);
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+            exitCode = 1;
+        } finally {
+            SpringApplication.exit(context);
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * @return tokens of distinct logins of the seeded user.
+     */
+    private static List<String> authenticate(URI baseUri, int count) throws IOException, InterruptedException {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest
+                .newBuilder(baseUri.resolve("/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"user\",\"rememberMe\":false}"))
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Authentication failed with status " + response.statusCode() + ": " + response.body());
+            }
+            tokens.add(objectMapper.readTree(response.body()).get("id_token").asText());
+        }
+        return tokens;
+    }
+
+    private static void logConcurrencyLimits(MeterRegistry meterRegistry) {
+        for (Gauge gauge : meterRegistry.find("http.server.requests.concurrency.limit").gauges()) {
+            log.info("Concurrency limit of the {} group: {}", gauge.getId().getTag("group"), gauge.value());
+        }
+    }
+
+    private static void report(LoadTestSettings settings, List<PhaseStatistics> statistics) throws IOException {
+        System.out.printf("%nScenario %s at %d requests per second%n", settings.getScenario(), settings.getRate());
+        statistics.forEach(phaseStatistics -> phaseStatistics.print(System.out));
+        if (settings.getHistogramFile() != null) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(settings.getHistogramFile()), true, "UTF-8")) {
+                statistics.forEach(phaseStatistics -> phaseStatistics.printHistogram(out));
+            }
+            System.out.printf("%nLatency histograms written to %s%n", settings.getHistogramFile());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.mycompany.myapp.loadtest;
+
+/**
+ * Settings of a load test, read from the {@code loadtest.*} system properties.
+ */
+public class LoadTestSettings {
+
+    private final Scenario scenario = Scenario.fromName(System.getProperty("loadtest.scenario", "mixed"));
+
+    private final int rate = Integer.getInteger("loadtest.rate", 100);
+
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+
+    private final int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 1000);
+
+    private final int tokens = Integer.getInteger("loadtest.tokens", 20);
+
+    private final int slowdownMs = Integer.getInteger("loadtest.slowdown-ms", 200);
+
+    private final int customers = Integer.getInteger("loadtest.customers", 1000);
+
+    private final int ports = Integer.getInteger("loadtest.ports", 100);
+
+    private final int transports = Integer.getInteger("loadtest.transports", 50);
+
+    private final int orders = Integer.getInteger("loadtest.orders", 10000);
+
+    private final int orderInfos = Integer.getInteger("loadtest.order-infos", 10000);
+
+    private final String histogramFile = System.getProperty("loadtest.histogram-file");
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * @return the target number of requests per second, sent whatever the response times.
+     */
+    public int getRate() {
+        return rate;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * @return the number of requests awaiting their response beyond which the next requests are dropped by the client.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return the number of distinct tokens the requests are spread over.
+     */
+    public int getTokens() {
+        return tokens;
+    }
+
+    /**
+     * @return the time every connection is held for before use, during the slowdown of the {@code db-slowdown} scenario.
+     */
+    public int getSlowdownMs() {
+        return slowdownMs;
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public int getPorts() {
+        return ports;
+    }
+
+    public int getTransports() {
+        return transports;
+    }
+
+    public int getOrders() {
+        return orders;
+    }
+
+    public int getOrderInfos() {
+        return orderInfos;
+    }
+
+    /**
+     * @return the file the latency histograms are written to, in the HdrHistogram percentile format, or {@code null}.
+     */
+    public String getHistogramFile() {
+        return histogramFile;
+    }
+}
@@ -0,0 +1,119 @@
+package com.mycompany.myapp.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The responses and latencies of the requests sent during a {@link Scenario.Phase}, overall and by operation.
+ * <p>
+ * Latencies are in microseconds, from the time the request was due to be sent, so that the requests delayed by a
+ * saturated client or server are accounted for (no coordinated omission).
+ */
+public class PhaseStatistics {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Scenario.Phase phase;
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+
+    private final Map<String, Histogram> latenciesByOperation = new ConcurrentHashMap<>();
+
+    private final LongAdder successful = new LongAdder();
+
+    private final LongAdder clientErrors = new LongAdder();
+
+    private final LongAdder shed = new LongAdder();
+
+    private final LongAdder serverErrors = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    public PhaseStatistics(Scenario.Phase phase) {
+        this.phase = phase;
+    }
+
+    public Scenario.Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Record a response, or a failure to get one when the status is negative.
+     */
+    public void record(String operation, long latencyMicros, int status) {
+        latencies.recordValue(latencyMicros);
+        latenciesByOperation.computeIfAbsent(operation, key -> new ConcurrentHistogram(3)).recordValue(latencyMicros);
+        if (status < 0) {
+            failed.increment();
+        } else if (status == 503) {
+            shed.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            successful.increment();
+        }
+    }
+
+    /**
+     * Record a request the client did not send, because too many requests were already awaiting their response.
+     */
+    public void drop() {
+        dropped.increment();
+    }
+
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = Math.max(1, phase.getEndSecond() - phase.getStartSecond());
+        out.printf(
+            "%n=== %s (%d s to %d s)%s%n",
+            phase.getName(),
+            phase.getStartSecond(),
+            phase.getEndSecond(),
+            phase.isDatabaseSlowdown() ? ", database slowed down" : ""
+        );
+        out.printf(
+            "requests: %d, throughput: %.1f/s, 2xx: %d, 4xx: %d, 503: %d, other 5xx: %d, failed: %d, dropped: %d%n",
+            latencies.getTotalCount(),
+            latencies.getTotalCount() / seconds,
+            successful.sum(),
+            clientErrors.sum(),
+            shed.sum(),
+            serverErrors.sum(),
+            failed.sum(),
+            dropped.sum()
+        );
+        out.printf("%-28s %8s %9s %9s %9s %9s %9s%n", "latency (ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+        printLine(out, "all", latencies);
+        new TreeMap<>(latenciesByOperation).forEach((operation, histogram) -> printLine(out, operation, histogram));
+    }
+
+    public void printHistogram(PrintStream out) {
+        out.printf("%n=== %s%n", phase.getName());
+        latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+    }
+
+    private static void printLine(PrintStream out, String name, Histogram histogram) {
+        out.printf(
+            "%-28s %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+            name,
+            histogram.getTotalCount(),
+            histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+            histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+            histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+            histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+            histogram.getMaxValue() / MICROS_PER_MILLI
+        );
+    }
+}
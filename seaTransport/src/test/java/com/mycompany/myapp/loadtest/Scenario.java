@@ -0,0 +1,131 @@
+package com.mycompany.myapp.loadtest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The scenarios of the load test, each made of the requests it sends and of the phases its report is split into.
+ */
+public enum Scenario {
+    /**
+     * Reads, list pages and writes of orders, order infos and customers.
+     */
+    MIXED("mixed") {
+        @Override
+        public Workload.Request next(Workload workload, Random random) {
+            return workload.mixed(random);
+        }
+    },
+
+    /**
+     * Logins only, to saturate the password hashing executor, which then rejects the excess logins with a 503.
+     */
+    LOGIN_STORM("login-storm") {
+        @Override
+        public Workload.Request next(Workload workload, Random random) {
+            return workload.login(random);
+        }
+    },
+
+    /**
+     * Cheap authenticated requests spread over the token pool, to measure the authentication of the tokens.
+     */
+    JWT("jwt") {
+        @Override
+        public Workload.Request next(Workload workload, Random random) {
+            return workload.account(random);
+        }
+    },
+
+    /**
+     * The mixed requests, with the database slowed down during the second third of the test: the concurrency limits
+     * must shed the excess requests with a 503, so that the latency of the admitted ones stays bounded.
+     */
+    DB_SLOWDOWN("db-slowdown") {
+        @Override
+        public Workload.Request next(Workload workload, Random random) {
+            return workload.mixed(random);
+        }
+
+        @Override
+        public List<Phase> phases(int durationSeconds) {
+            int third = durationSeconds / 3;
+            return Arrays.asList(
+                new Phase("baseline", 0, third, false),
+                new Phase("slowdown", third, 2 * third, true),
+                new Phase("recovery", 2 * third, durationSeconds, false)
+            );
+        }
+    };
+
+    private final String name;
+
+    Scenario(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the next request to send, drawn with the given random generator.
+     */
+    public abstract Workload.Request next(Workload workload, Random random);
+
+    public List<Phase> phases(int durationSeconds) {
+        return Collections.singletonList(new Phase("steady", 0, durationSeconds, false));
+    }
+
+    public static Scenario fromName(String name) {
+        return Arrays
+            .stream(values())
+            .filter(scenario -> scenario.name.equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown scenario " + name + ", expected one of " + Arrays.toString(values())));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * A time range of the test, from its start, with its own statistics.
+     */
+    public static class Phase {
+
+        private final String name;
+
+        private final int startSecond;
+
+        private final int endSecond;
+
+        private final boolean databaseSlowdown;
+
+        public Phase(String name, int startSecond, int endSecond, boolean databaseSlowdown) {
+            this.name = name;
+            this.startSecond = startSecond;
+            this.endSecond = endSecond;
+            this.databaseSlowdown = databaseSlowdown;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getStartSecond() {
+            return startSecond;
+        }
+
+        public int getEndSecond() {
+            return endSecond;
+        }
+
+        public boolean isDatabaseSlowdown() {
+            return databaseSlowdown;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycompany.myapp.loadtest;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inserts the customers, ports, transports, orders and order infos the scenarios work on, by JDBC batches.
+ * <p>
+ * The rows have the ids {@link #FIRST_ID} to {@code FIRST_ID + count - 1}, far above the ids the sequence gives to the
+ * entities created during the test, and always the same values, from a fixed random seed.
+ */
+public class SeedData {
+
+    public static final long FIRST_ID = 1_000_000L;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final LocalDate FIRST_LOADING_DATE = LocalDate.of(2026, 1, 1);
+
+    private final Logger log = LoggerFactory.getLogger(SeedData.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Random random = new Random(42);
+
+    public SeedData(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void seed(LoadTestSettings settings) {
+        long start = System.nanoTime();
+        insert(
+            "insert into customer (id, organization_name, contact_person, country, contact_phone, email) values (?, ?, ?, ?, ?, ?)",
+            settings.getCustomers(),
+            i ->
+                new Object[] {
+                    FIRST_ID + i,
+                    "Organization " + i,
+                    "Contact " + i,
+                    "Country " + (i % 50),
+                    "+1 555 " + i,
+                    "c" + i + "@example.com"
+                }
+        );
+        insert(
+            "insert into port (id, loading_port_latitude, loading_port_longitude, shipment_port_latitude, shipment_port_longitude) " +
+            "values (?, ?, ?, ?, ?)",
+            settings.getPorts(),
+            i -> new Object[] { FIRST_ID + i, random.nextInt(90), random.nextInt(180), random.nextInt(90), random.nextInt(180) }
+        );
+        insert(
+            "insert into transport (id, transport_name, max_weight, speed, deck_size) values (?, ?, ?, ?, ?)",
+            settings.getTransports(),
+            i ->
+                new Object[] {
+                    FIRST_ID + i,
+                    "Vessel " + i,
+                    10000 + random.nextInt(90000),
+                    10 + random.nextInt(20),
+                    100 + random.nextInt(400)
+                }
+        );
+        insert(
+            "insert into jhi_order (id, customer, port, date_of_loading, date_of_shipment, status, transport) values (?, ?, ?, ?, ?, ?, ?)",
+            settings.getOrders(),
+            i -> {
+                LocalDate loading = FIRST_LOADING_DATE.plusDays(random.nextInt(365));
+                return new Object[] {
+                    FIRST_ID + i,
+                    FIRST_ID + random.nextInt(settings.getCustomers()),
+                    FIRST_ID + random.nextInt(settings.getPorts()),
+                    Date.valueOf(loading),
+                    Date.valueOf(loading.plusDays(1 + random.nextInt(30))),
+                    random.nextInt(5),
+                    FIRST_ID + random.nextInt(settings.getTransports())
+                };
+            }
+        );
+        insert(
+            "insert into order_info (id, jhi_order, length, width, height, volume, weight) values (?, ?, ?, ?, ?, ?, ?)",
+            settings.getOrderInfos(),
+            i -> {
+                int length = 1 + random.nextInt(20);
+                int width = 1 + random.nextInt(5);
+                int height = 1 + random.nextInt(5);
+                return new Object[] {
+                    FIRST_ID + i,
+                    FIRST_ID + random.nextInt(settings.getOrders()),
+                    length,
+                    width,
+                    height,
+                    length * width * height,
+                    100 + random.nextInt(30000)
+                };
+            }
+        );
+        log.info(
+            "Seeded {} customers, {} ports, {} transports, {} orders and {} order infos in {} ms",
+            settings.getCustomers(),
+            settings.getPorts(),
+            settings.getTransports(),
+            settings.getOrders(),
+            settings.getOrderInfos(),
+            (System.nanoTime() - start) / 1_000_000
+        );
+    }
+
+    private void insert(String sql, int count, Row row) {
+        for (int first = 0; first < count; first += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = first; i < Math.min(first + BATCH_SIZE, count); i++) {
+                batch.add(row.values(i));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Row {
+        Object[] values(int index);
+    }
+}
@@ -0,0 +1,174 @@
+package com.mycompany.myapp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the requests of the scenarios, on the seeded rows, authenticated by tokens drawn from a pool.
+ */
+public class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int PAGE_SIZE = 20;
+
+    private final URI baseUri;
+
+    private final List<String> tokens;
+
+    private final LoadTestSettings settings;
+
+    public Workload(URI baseUri, List<String> tokens, LoadTestSettings settings) {
+        this.baseUri = baseUri;
+        this.tokens = tokens;
+        this.settings = settings;
+    }
+
+    /**
+     * Half reads by id, a third of list pages, and a fifth of creations and updates.
+     */
+    public Request mixed(Random random) {
+        int draw = random.nextInt(100);
+        if (draw < 25) {
+            return get("GET /api/orders/{id}", "/api/orders/" + seededId(random, settings.getOrders()), random);
+        } else if (draw < 40) {
+            return get("GET /api/order-infos/{id}", "/api/order-infos/" + seededId(random, settings.getOrderInfos()), random);
+        } else if (draw < 50) {
+            return get("GET /api/customers/{id}", "/api/customers/" + seededId(random, settings.getCustomers()), random);
+        } else if (draw < 62) {
+            return get("GET /api/orders", "/api/orders" + page(random, settings.getOrders()), random);
+        } else if (draw < 70) {
+            return get("GET /api/order-infos", "/api/order-infos" + page(random, settings.getOrderInfos()), random);
+        } else if (draw < 75) {
+            return get("GET /api/customers", "/api/customers" + page(random, settings.getCustomers()), random);
+        } else if (draw < 78) {
+            return get("GET /api/transports", "/api/transports" + page(random, settings.getTransports()), random);
+        } else if (draw < 80) {
+            return get("GET /api/ports", "/api/ports" + page(random, settings.getPorts()), random);
+        } else if (draw < 88) {
+            return post("POST /api/orders", "/api/orders", order(random), random);
+        } else if (draw < 94) {
+            return post("POST /api/order-infos", "/api/order-infos", orderInfo(random), random);
+        } else {
+            long id = seededId(random, settings.getCustomers());
+            String body = String.format(
+                "{\"id\":%d,\"organizationName\":\"Organization %d\",\"contactPerson\":\"Contact %d\",\"country\":\"Country\"," +
+                "\"contactPhone\":\"+1 555 %d\",\"email\":\"c%d@example.com\"}",
+                id,
+                random.nextInt(1000),
+                random.nextInt(1000),
+                id,
+                id
+            );
+            HttpRequest.Builder builder = authorized(random, "/api/customers/" + id)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body));
+            return new Request("PUT /api/customers/{id}", builder.build());
+        }
+    }
+
+    /**
+     * Logins of the seeded user, and of unknown users for a fifth of them.
+     */
+    public Request login(Random random) {
+        String body = random.nextInt(5) == 0
+            ? "{\"username\":\"unknown-" + random.nextInt(100_000) + "\",\"password\":\"password\",\"rememberMe\":false}"
+            : "{\"username\":\"user\",\"password\":\"user\",\"rememberMe\":false}";
+        HttpRequest request = HttpRequest
+            .newBuilder(baseUri.resolve("/api/authenticate"))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return new Request("POST /api/authenticate", request);
+    }
+
+    /**
+     * The account of the authenticated user, so that the authentication of the token dominates the cost.
+     */
+    public Request account(Random random) {
+        return get("GET /api/account", "/api/account", random);
+    }
+
+    private Request get(String operation, String path, Random random) {
+        return new Request(operation, authorized(random, path).GET().build());
+    }
+
+    private Request post(String operation, String path, String body, Random random) {
+        HttpRequest.Builder builder = authorized(random, path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+        return new Request(operation, builder.build());
+    }
+
+    private HttpRequest.Builder authorized(Random random, String path) {
+        return HttpRequest
+            .newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+    }
+
+    private String order(Random random) {
+        LocalDate loading = LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365));
+        return String.format(
+            "{\"customer\":%d,\"port\":%d,\"dateOfLoading\":\"%s\",\"dateOfShipment\":\"%s\",\"status\":%d,\"transport\":%d}",
+            seededId(random, settings.getCustomers()),
+            seededId(random, settings.getPorts()),
+            loading,
+            loading.plusDays(1 + random.nextInt(30)),
+            random.nextInt(5),
+            seededId(random, settings.getTransports())
+        );
+    }
+
+    private String orderInfo(Random random) {
+        int length = 1 + random.nextInt(20);
+        int width = 1 + random.nextInt(5);
+        int height = 1 + random.nextInt(5);
+        return String.format(
+            "{\"order\":%d,\"length\":%d,\"width\":%d,\"height\":%d,\"volume\":%d,\"weight\":%d}",
+            seededId(random, settings.getOrders()),
+            length,
+            width,
+            height,
+            length * width * height,
+            100 + random.nextInt(30000)
+        );
+    }
+
+    private static long seededId(Random random, int count) {
+        return SeedData.FIRST_ID + random.nextInt(count);
+    }
+
+    private static String page(Random random, int count) {
+        int pages = Math.max(1, count / PAGE_SIZE);
+        return "?page=" + random.nextInt(pages) + "&size=" + PAGE_SIZE + "&sort=id,asc";
+    }
+
+    /**
+     * A request, with the name of its operation in the report.
+     */
+    public static class Request {
+
+        private final String operation;
+
+        private final HttpRequest httpRequest;
+
+        public Request(String operation, HttpRequest httpRequest) {
+            this.operation = operation;
+            this.httpRequest = httpRequest;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public HttpRequest getHttpRequest() {
+            return httpRequest;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void testAddedValuesAreAlwaysFound() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloomFilter.put("login:user-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(bloomFilter.mightContain("login:user-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateIsBounded() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloomFilter.put("login:user-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (bloomFilter.mightContain("login:stranger-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void testInvalidSizingIsRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BloomFilter(0, 0.01));
+        assertThatIllegalArgumentException().isThrownBy(() -> new BloomFilter(1000, 1));
+    }
+}
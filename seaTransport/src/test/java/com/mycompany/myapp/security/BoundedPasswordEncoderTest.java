@@ -0,0 +1,136 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ApplicationProperties.Security.PasswordHashing properties;
+
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService callers;
+
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ApplicationProperties.Security.PasswordHashing();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (boundedPasswordEncoder != null) {
+            boundedPasswordEncoder.shutdown();
+        }
+    }
+
+    @Test
+    void testPasswordsAreHashedByTheDelegate() {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), properties, meterRegistry);
+
+        String encoded = boundedPasswordEncoder.encode("password");
+
+        assertThat(boundedPasswordEncoder.matches("password", encoded)).isTrue();
+        assertThat(boundedPasswordEncoder.matches("other", encoded)).isFalse();
+        assertThat(meterRegistry.get("security.password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testHashingIsRejectedWhenTheQueueIsFull() throws Exception {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(blockingEncoder(), properties, meterRegistry);
+        callers.submit(() -> boundedPasswordEncoder.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> boundedPasswordEncoder.encode("queued"));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> boundedPasswordEncoder.encode("rejected")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testHashingIsRejectedAfterTimeout() {
+        properties.setTimeoutMs(10);
+        boundedPasswordEncoder = new BoundedPasswordEncoder(blockingEncoder(), properties, meterRegistry);
+
+        assertThatThrownBy(() -> boundedPasswordEncoder.encode("slow")).isInstanceOf(PasswordHashingRejectedException.class);
+    }
+
+    @Test
+    void testRejectionIsNotWrappedByTheAuthenticationProvider() {
+        properties.setTimeoutMs(10);
+        boundedPasswordEncoder = new BoundedPasswordEncoder(blockingEncoder(), properties, meterRegistry);
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setPasswordEncoder(boundedPasswordEncoder);
+        authenticationProvider.setUserDetailsService(
+            login -> {
+                if (!"user".equals(login)) {
+                    throw new UsernameNotFoundException(login);
+                }
+                return User.withUsername(login).password("password").authorities(AuthoritiesConstants.USER).build();
+            }
+        );
+
+        // The password of an unknown user is hashed anyway, against timing attacks
+        assertThatThrownBy(() -> authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("unknown", "password")))
+            .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThatThrownBy(() -> authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("user", "password")))
+            .isInstanceOf(PasswordHashingRejectedException.class);
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("security.password.hashing.queue").gauge().value() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
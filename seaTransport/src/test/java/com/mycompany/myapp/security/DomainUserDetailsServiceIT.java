@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -35,6 +36,9 @@ class DomainUserDetailsServiceIT {
     @Autowired
     private UserDetailsService domainUserDetailsService;
 
+    @Autowired
+    private PrincipalLookupCache principalLookupCache;
+
     @BeforeEach
     public void init() {
         User userOne = new User();
@@ -108,4 +112,36 @@ class DomainUserDetailsServiceIT {
         assertThatExceptionOfType(UserNotActivatedException.class)
             .isThrownBy(() -> domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN));
     }
+
+    @Test
+    void assertThatUnknownLoginIsRememberedUntilTheUserIsCreated() {
+        User userFour = new User();
+        userFour.setLogin("test-user-four");
+        userFour.setEmail("test-user-four@localhost");
+
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+            .isThrownBy(() -> domainUserDetailsService.loadUserByUsername(userFour.getLogin()));
+        assertThat(principalLookupCache.isUnknownLogin(userFour.getLogin())).isTrue();
+
+        principalLookupCache.refresh(userFour);
+        assertThat(principalLookupCache.isUnknownLogin(userFour.getLogin())).isFalse();
+    }
+
+    @Test
+    void assertThatUserCreatedOnAnotherInstanceIsFoundDespiteTheUnknownLogin() {
+        User userFive = new User();
+        userFive.setLogin("test-user-five");
+        userFive.setPassword(RandomStringUtils.random(60));
+        userFive.setActivated(true);
+        userFive.setEmail("test-user-five@localhost");
+        userFive.setLangKey("en");
+
+        assertThatExceptionOfType(UsernameNotFoundException.class)
+            .isThrownBy(() -> domainUserDetailsService.loadUserByUsername(userFive.getLogin()));
+
+        // Saved without refreshing the lookup cache, as another instance would
+        userRepository.saveAndFlush(userFive);
+        UserDetails userDetails = domainUserDetailsService.loadUserByUsername(userFive.getLogin());
+        assertThat(userDetails.getUsername()).isEqualTo(userFive.getLogin());
+    }
 }
@@ -0,0 +1,95 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Measures the per-request cost of authenticating a JWT token, as done by {@link JWTFilter}: verifying and parsing it
+ * twice (before the verified token cache), once, or serving it from the {@link VerifiedTokenCache}. Also measures
+ * the signing of a new token, as done on each login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTAuthenticationBenchmark {
+
+    private TokenProvider tokenProvider;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private Authentication authentication;
+
+    private String jwt;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        verifiedTokenCache = new VerifiedTokenCache(new ApplicationProperties(), new SimpleMeterRegistry(), Clock.systemUTC());
+        List<GrantedAuthority> authorities = Arrays.asList(
+            new SimpleGrantedAuthority(AuthoritiesConstants.USER),
+            new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)
+        );
+        authentication = new UsernamePasswordAuthenticationToken("user", "", authorities);
+        jwt = tokenProvider.createToken(authentication, false);
+        Claims claims = tokenProvider.parseClaims(jwt).orElseThrow();
+        verifiedTokenCache.put(
+            jwt,
+            new VerifiedTokenCache.VerifiedToken(tokenProvider.getAuthentication(claims, jwt), claims.getId(), claims.getExpiration())
+        );
+    }
+
+    @Benchmark
+    public Authentication validateThenParse() {
+        return tokenProvider.validateToken(jwt) ? tokenProvider.getAuthentication(jwt) : null;
+    }
+
+    @Benchmark
+    public Authentication singlePass() {
+        return tokenProvider.parseClaims(jwt).map(claims -> tokenProvider.getAuthentication(claims, jwt)).orElse(null);
+    }
+
+    @Benchmark
+    public Authentication cached() {
+        return verifiedTokenCache.get(jwt).getAuthentication();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(jwt);
+    }
+}
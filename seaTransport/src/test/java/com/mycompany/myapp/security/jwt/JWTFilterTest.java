@@ -1,11 +1,21 @@
 package com.mycompany.myapp.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
+import com.mycompany.myapp.MutableClock;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Date;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -13,6 +23,7 @@ import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -22,6 +33,14 @@ class JWTFilterTest {
 
     private TokenProvider tokenProvider;
 
+    private MutableClock clock;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private TokenRevocationStore tokenRevocationStore;
+
+    private MeterRegistry meterRegistry;
+
     private JWTFilter jwtFilter;
 
     @BeforeEach
@@ -33,7 +52,12 @@ class JWTFilterTest {
         ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
-        jwtFilter = new JWTFilter(tokenProvider);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.now());
+        verifiedTokenCache = new VerifiedTokenCache(new ApplicationProperties(), meterRegistry, clock);
+        tokenRevocationStore =
+            new TokenRevocationStore(mock(RevokedTokenRepository.class), new ApplicationProperties(), meterRegistry, clock);
+        jwtFilter = new JWTFilter(tokenProvider, verifiedTokenCache, tokenRevocationStore);
         SecurityContextHolder.getContext().setAuthentication(null);
     }
 
@@ -109,4 +133,73 @@ class JWTFilterTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
+
+    @Test
+    void testJWTFilterCachesVerifiedToken() throws Exception {
+        String jwt = tokenProvider.createToken(createAuthentication(), false);
+
+        jwtFilter.doFilter(bearerRequest(jwt), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication first = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.getContext().setAuthentication(null);
+        jwtFilter.doFilter(bearerRequest(jwt), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(first);
+        assertThat(meterRegistry.get("security.jwt.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testJWTFilterDoesNotServeCachedTokenAfterExpiration() throws Exception {
+        String jwt = tokenProvider.createToken(createAuthentication(), false);
+        jwtFilter.doFilter(bearerRequest(jwt), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.getContext().setAuthentication(null);
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(verifiedTokenCache.get(jwt)).isNull();
+    }
+
+    @Test
+    void testFullCacheEvictsAnEntryForANewToken() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getJwtCache().setMaxEntries(2);
+        MeterRegistry fullCacheRegistry = new SimpleMeterRegistry();
+        VerifiedTokenCache fullCache = new VerifiedTokenCache(applicationProperties, fullCacheRegistry, clock);
+        Date expiration = Date.from(clock.instant().plus(Duration.ofMinutes(1)));
+        for (int i = 0; i < 3; i++) {
+            fullCache.put("token-" + i, new VerifiedTokenCache.VerifiedToken(createAuthentication(), "id-" + i, expiration));
+        }
+
+        assertThat(fullCache.get("token-2")).isNotNull();
+        assertThat(fullCacheRegistry.get("security.jwt.cache.entries").gauge().value()).isEqualTo(2);
+        assertThat(fullCacheRegistry.get("security.jwt.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testJWTFilterRejectsRevokedToken() throws Exception {
+        String jwt = tokenProvider.createToken(createAuthentication(), false);
+        jwtFilter.doFilter(bearerRequest(jwt), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.getContext().setAuthentication(null);
+
+        Claims claims = tokenProvider.parseClaims(jwt).orElseThrow();
+        tokenRevocationStore.revoke(claims.getId(), claims.getExpiration().toInstant());
+        jwtFilter.doFilter(bearerRequest(jwt), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private UsernamePasswordAuthenticationToken createAuthentication() {
+        return new UsernamePasswordAuthenticationToken(
+            "test-user",
+            "test-password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+    }
+
+    private MockHttpServletRequest bearerRequest(String jwt) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.setRequestURI("/api/test");
+        return request;
+    }
 }
@@ -0,0 +1,76 @@
+package com.mycompany.myapp.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.RevokedToken;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenRevocationStoreTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationStore tokenRevocationStore;
+
+    @BeforeEach
+    public void setup() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getTokenRevocation().setExpectedRevocations(4);
+        tokenRevocationStore =
+            new TokenRevocationStore(revokedTokenRepository, applicationProperties, new SimpleMeterRegistry(), Clock.systemUTC());
+    }
+
+    @Test
+    void testRevokedTokensAreRejectedBeyondTheExpectedCount() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (int i = 0; i < 100; i++) {
+            tokenRevocationStore.revoke("revoked-" + i, expiresAt);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(tokenRevocationStore.isRevoked("revoked-" + i)).isTrue();
+        }
+        assertThat(tokenRevocationStore.isRevoked("valid")).isFalse();
+        assertThat(tokenRevocationStore.isRevoked(null)).isFalse();
+        verify(revokedTokenRepository, times(100)).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testRevocationsOfOtherInstancesAreSynchronized() {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti("revoked-elsewhere");
+        revokedToken.setExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS));
+        revokedToken.setRevokedAt(Instant.now());
+        when(revokedTokenRepository.findAllByRevokedAtAfterAndExpiresAtAfter(any(Instant.class), any(Instant.class)))
+            .thenReturn(Collections.singletonList(revokedToken));
+
+        tokenRevocationStore.synchronize();
+
+        assertThat(tokenRevocationStore.isRevoked("revoked-elsewhere")).isTrue();
+    }
+
+    @Test
+    void testExpiredTokensArePruned() {
+        tokenRevocationStore.revoke("expired", Instant.now().minusSeconds(1));
+        tokenRevocationStore.revoke("active", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        tokenRevocationStore.prune();
+
+        assertThat(tokenRevocationStore.isRevoked("expired")).isFalse();
+        assertThat(tokenRevocationStore.isRevoked("active")).isTrue();
+        verify(revokedTokenRepository).deleteAllExpired(any(Instant.class));
+    }
+}
@@ -0,0 +1,166 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutgoingMail;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.OutgoingMailRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailOutboxService}, with GreenMail as the mail server.
+ */
+@IntegrationTest
+@Transactional
+class MailOutboxServiceIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private OutgoingMailRepository outgoingMailRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationProperties applicationProperties;
+
+    private JavaMailSenderImpl javaMailSender;
+
+    private MailOutboxService mailOutboxService;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailOutboxService = createMailOutboxService();
+    }
+
+    @Test
+    void testQueuedEmailsAreSentByBatch() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = createUser();
+            users.add(user);
+            mailOutboxService.queueActivationEmail(user);
+        }
+
+        mailOutboxService.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        List<String> recipients = new ArrayList<>();
+        for (MimeMessage message : received) {
+            recipients.add(message.getAllRecipients()[0].toString());
+        }
+        assertThat(recipients).containsAll(users.stream().map(User::getEmail).collect(Collectors.toList()));
+        assertThat(received[0].getSubject()).isEqualTo(messageSource.getMessage("email.activation.title", null, Locale.ENGLISH));
+        assertThat(queuedMailsOf(users)).isEmpty();
+    }
+
+    @Test
+    void testSeveralEmailsOfTheSameUserAreSentInOneBatch() {
+        User user = createUser();
+        mailOutboxService.queuePasswordResetMail(user);
+        mailOutboxService.queuePasswordResetMail(user);
+
+        mailOutboxService.dispatch();
+
+        assertThat(greenMail.getReceivedMessagesForDomain(user.getEmail())).hasSize(2);
+        assertThat(queuedMailsOf(Arrays.asList(user))).isEmpty();
+    }
+
+    @Test
+    void testFailedEmailIsRetriedWithBackoff() {
+        User user = createUser();
+        mailOutboxService.queueCreationEmail(user);
+        // Nothing listens on this port
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort() + 1000);
+        mailOutboxService = createMailOutboxService();
+
+        mailOutboxService.dispatch();
+
+        OutgoingMail mail = queuedMailsOf(Arrays.asList(user)).get(0);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getLastError()).isNotBlank();
+        assertThat(mail.getNextAttemptAt()).isEqualTo(NOW.plusMillis(applicationProperties.getMailOutbox().getInitialBackoffMs()));
+
+        // Not retried before the backoff has elapsed
+        mailOutboxService.dispatch();
+        assertThat(queuedMailsOf(Arrays.asList(user)).get(0).getAttempts()).isEqualTo(1);
+    }
+
+    private MailOutboxService createMailOutboxService() {
+        MailService mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine);
+        return new MailOutboxService(
+            outgoingMailRepository,
+            userRepository,
+            mailService,
+            applicationProperties,
+            transactionManager,
+            new SimpleMeterRegistry(),
+            Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setLogin("outbox-" + RandomStringUtils.randomAlphabetic(8).toLowerCase());
+        user.setEmail(user.getLogin() + "@example.com");
+        user.setPassword(RandomStringUtils.random(60));
+        user.setLangKey("en");
+        user.setActivated(false);
+        user.setActivationKey(RandomStringUtils.randomAlphanumeric(20));
+        return userRepository.saveAndFlush(user);
+    }
+
+    private List<OutgoingMail> queuedMailsOf(List<User> users) {
+        List<OutgoingMail> mails = new ArrayList<>();
+        for (OutgoingMail mail : outgoingMailRepository.findAll()) {
+            if (users.stream().anyMatch(user -> user.getId().equals(mail.getUserId()))) {
+                mails.add(mail);
+            }
+        }
+        return mails;
+    }
+}
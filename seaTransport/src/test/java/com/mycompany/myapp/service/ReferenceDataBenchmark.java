@@ -0,0 +1,120 @@
+package com.mycompany.myapp.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.Port;
+import com.mycompany.myapp.domain.Status;
+import com.mycompany.myapp.domain.Transport;
+import com.mycompany.myapp.repository.PortRepository;
+import com.mycompany.myapp.repository.StatusRepository;
+import com.mycompany.myapp.repository.TransportRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares resolving a status through the {@link ReferenceDataService} snapshot with a second-level cache lookup.
+ * <p>
+ * The second-level cache is modelled as Hibernate uses it: a JCache region holding the disassembled state of each
+ * entity, from which a new entity is assembled on every hit. Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceDataBenchmark {
+
+    private static final long FIRST_ID = 1050;
+
+    /**
+     * The distance between two consecutive ids: ids come from a sequence shared by every entity.
+     */
+    @Param({ "1", "3", "100" })
+    public int idStride;
+
+    @Param({ "50" })
+    public int statusCount;
+
+    private ReferenceDataService referenceDataService;
+
+    private CacheManager cacheManager;
+
+    private Cache<Long, Object[]> secondLevelCache;
+
+    private long[] ids;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Status> statuses = new ArrayList<>();
+        ids = new long[statusCount];
+        for (int i = 0; i < statusCount; i++) {
+            ids[i] = FIRST_ID + (long) i * idStride;
+            statuses.add(new Status().id(ids[i]).statusName("STATUS_" + i).description("Status number " + i));
+        }
+
+        StatusRepository statusRepository = mock(StatusRepository.class);
+        TransportRepository transportRepository = mock(TransportRepository.class);
+        PortRepository portRepository = mock(PortRepository.class);
+        when(statusRepository.findAll()).thenReturn(statuses);
+        when(transportRepository.findAll()).thenReturn(Collections.<Transport>emptyList());
+        when(portRepository.findAll()).thenReturn(Collections.<Port>emptyList());
+        referenceDataService = new ReferenceDataService(statusRepository, transportRepository, portRepository);
+        referenceDataService.reload();
+
+        cacheManager = Caching.getCachingProvider("org.ehcache.jsr107.EhcacheCachingProvider").getCacheManager();
+        secondLevelCache =
+            cacheManager.createCache(
+                Status.class.getName(),
+                new MutableConfiguration<Long, Object[]>().setTypes(Long.class, Object[].class).setStoreByValue(false)
+            );
+        for (Status status : statuses) {
+            secondLevelCache.put(status.getId(), new Object[] { status.getStatusName(), status.getDescription() });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public Status snapshot() {
+        return referenceDataService.getStatus(nextId());
+    }
+
+    @Benchmark
+    public Status secondLevelCache() {
+        long id = nextId();
+        Object[] state = secondLevelCache.get(id);
+        return new Status().id(id).statusName((String) state[0]).description((String) state[1]);
+    }
+
+    private long nextId() {
+        int index = next;
+        next = index + 1 == ids.length ? 0 : index + 1;
+        return ids[index];
+    }
+}
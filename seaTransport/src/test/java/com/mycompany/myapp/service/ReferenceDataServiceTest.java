@@ -0,0 +1,121 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.Port;
+import com.mycompany.myapp.domain.Status;
+import com.mycompany.myapp.domain.Transport;
+import com.mycompany.myapp.repository.PortRepository;
+import com.mycompany.myapp.repository.StatusRepository;
+import com.mycompany.myapp.repository.TransportRepository;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReferenceDataServiceTest {
+
+    private StatusRepository statusRepository;
+
+    private TransportRepository transportRepository;
+
+    private PortRepository portRepository;
+
+    private ReferenceDataService referenceDataService;
+
+    @BeforeEach
+    public void setup() {
+        statusRepository = mock(StatusRepository.class);
+        transportRepository = mock(TransportRepository.class);
+        portRepository = mock(PortRepository.class);
+        when(statusRepository.findAll()).thenReturn(Arrays.asList(status(1051L, "LOADED"), status(1050L, "NEW")));
+        when(transportRepository.findAll()).thenReturn(Collections.singletonList(new Transport().id(1052L).transportName("Ferry")));
+        when(portRepository.findAll()).thenReturn(Collections.singletonList(new Port().id(900_000L).loadingPortLatitude(10)));
+        referenceDataService = new ReferenceDataService(statusRepository, transportRepository, portRepository);
+        referenceDataService.reload();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testReferencesAreResolvedFromTheSnapshot() {
+        assertThat(referenceDataService.getStatus(1050L).getStatusName()).isEqualTo("NEW");
+        assertThat(referenceDataService.getStatus(1051L).getStatusName()).isEqualTo("LOADED");
+        assertThat(referenceDataService.getStatus(1052L)).isNull();
+        assertThat(referenceDataService.getStatus(-1L)).isNull();
+        assertThat(referenceDataService.getTransport(1052L).getTransportName()).isEqualTo("Ferry");
+        assertThat(referenceDataService.getPort(900_000L).getLoadingPortLatitude()).isEqualTo(10);
+    }
+
+    @Test
+    void testSparseIdsAreResolved() {
+        Status first = status(1050L, "NEW");
+        Status far = status(5_000_000L, "ARCHIVED");
+        when(statusRepository.findAll()).thenReturn(Arrays.asList(far, first));
+        referenceDataService.reload();
+
+        assertThat(referenceDataService.getStatus(1050L).getStatusName()).isEqualTo("NEW");
+        assertThat(referenceDataService.getStatus(5_000_000L).getStatusName()).isEqualTo("ARCHIVED");
+        assertThat(referenceDataService.getStatus(1051L)).isNull();
+    }
+
+    @Test
+    void testWritesPublishedDuringAReloadAreKept() {
+        when(portRepository.findAll())
+            .thenAnswer(
+                invocation -> {
+                    // Committed after the statuses were read
+                    referenceDataService.publishStatus(status(1053L, "SHIPPED"));
+                    referenceDataService.removeStatus(1050L);
+                    return Collections.singletonList(new Port().id(900_000L).loadingPortLatitude(10));
+                }
+            );
+
+        referenceDataService.reload();
+
+        assertThat(referenceDataService.getStatus(1053L).getStatusName()).isEqualTo("SHIPPED");
+        assertThat(referenceDataService.getStatus(1050L)).isNull();
+        assertThat(referenceDataService.getStatus(1051L).getStatusName()).isEqualTo("LOADED");
+    }
+
+    @Test
+    void testWritesAreCopiedOnWrite() {
+        ReferenceDataService.Snapshot before = referenceDataService.getSnapshot();
+        Status status = status(1053L, "SHIPPED");
+
+        referenceDataService.publishStatus(status);
+        referenceDataService.removeStatus(1050L);
+        status.setStatusName("MODIFIED");
+
+        ReferenceDataService.Snapshot after = referenceDataService.getSnapshot();
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 2);
+        assertThat(after.getStatus(1053L).getStatusName()).isEqualTo("SHIPPED");
+        assertThat(after.getStatus(1050L)).isNull();
+        assertThat(before.getStatus(1050L).getStatusName()).isEqualTo("NEW");
+        assertThat(before.getStatus(1053L)).isNull();
+    }
+
+    @Test
+    void testWritesArePublishedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        referenceDataService.publishStatus(status(1053L, "SHIPPED"));
+
+        assertThat(referenceDataService.getStatus(1053L)).isNull();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(referenceDataService.getStatus(1053L).getStatusName()).isEqualTo("SHIPPED");
+    }
+
+    private static Status status(Long id, String name) {
+        return new Status().id(id).statusName(name).description(name.toLowerCase());
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ResponseCacheService}.
+ */
+class ResponseCacheServiceTest {
+
+    private static final int MAX_ENTRIES = 4;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private ResponseCacheService responseCacheService;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getResponseCache().setMaxEntriesPerRegion(MAX_ENTRIES);
+        meterRegistry = new SimpleMeterRegistry();
+        responseCacheService = new ResponseCacheService(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void testFullRegionEvictsToCacheNewKeys() {
+        for (int page = 0; page < MAX_ENTRIES + 2; page++) {
+            put("page=" + page);
+        }
+
+        assertThat(responseCacheService.get(ResponseCacheService.ORDERS, "page=" + (MAX_ENTRIES + 1))).isNotNull();
+        assertThat(meterRegistry.get("http.response.cache.entries").gauge().value()).isEqualTo(MAX_ENTRIES);
+        assertThat(meterRegistry.get("http.response.cache.evictions").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testFullRegionStillCachesNewKeysAfterTheTimeToLive() throws Exception {
+        applicationProperties.getResponseCache().setTimeToLiveSeconds(1);
+        for (int page = 0; page < MAX_ENTRIES; page++) {
+            put("page=" + page);
+        }
+
+        Thread.sleep(1100);
+        put("page=" + MAX_ENTRIES);
+
+        assertThat(responseCacheService.get(ResponseCacheService.ORDERS, "page=" + MAX_ENTRIES)).isNotNull();
+        assertThat(meterRegistry.get("http.response.cache.entries").gauge().value()).isEqualTo(1);
+    }
+
+    private void put(String key) {
+        long generation = responseCacheService.generation(ResponseCacheService.ORDERS);
+        responseCacheService.put(
+            ResponseCacheService.ORDERS,
+            key,
+            generation,
+            new ResponseCacheService.CachedResponse("[]".getBytes(StandardCharsets.UTF_8), "application/json", Collections.emptyMap())
+        );
+    }
+}
@@ -0,0 +1,152 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.MutableClock;
+import com.mycompany.myapp.aop.scheduling.ClusterSingleton;
+import com.mycompany.myapp.aop.scheduling.ClusterSingletonAspect;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.SchedulerLockRepository;
+import com.mycompany.myapp.service.SchedulerLockService.Lock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for {@link SchedulerLockService}, with two instances sharing the database.
+ */
+@IntegrationTest
+class SchedulerLockServiceIT {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T01:00:00Z");
+
+    private static final Duration LOCK_AT_MOST_FOR = Duration.ofSeconds(10);
+
+    private static final Duration LOCK_AT_LEAST_FOR = Duration.ofSeconds(5);
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry firstMeterRegistry;
+
+    private MeterRegistry secondMeterRegistry;
+
+    private MutableClock firstClock;
+
+    private MutableClock secondClock;
+
+    private SchedulerLockService firstInstance;
+
+    private SchedulerLockService secondInstance;
+
+    @BeforeEach
+    public void setup() {
+        firstMeterRegistry = new SimpleMeterRegistry();
+        secondMeterRegistry = new SimpleMeterRegistry();
+        firstClock = new MutableClock(NOW);
+        secondClock = new MutableClock(NOW);
+        firstInstance = createSchedulerLockService("instance-1", firstMeterRegistry, firstClock);
+        secondInstance = createSchedulerLockService("instance-2", secondMeterRegistry, secondClock);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        schedulerLockRepository.deleteAll();
+    }
+
+    @Test
+    void testOnlyOneInstanceTakesTheLock() {
+        assertThat(firstInstance.tryLock("job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR)).isPresent();
+        assertThat(secondInstance.tryLock("job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR)).isEmpty();
+        assertThat(firstInstance.tryLock("other-job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR)).isPresent();
+    }
+
+    @Test
+    void testReleasedLockIsHeldForItsMinimalDuration() {
+        Lock lock = firstInstance.tryLock("job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR).get();
+        firstClock.setInstant(NOW.plusSeconds(1));
+        firstInstance.unlock(lock);
+
+        secondClock.setInstant(NOW.plusSeconds(2));
+        assertThat(secondInstance.tryLock("job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR)).isEmpty();
+        secondClock.setInstant(NOW.plus(LOCK_AT_LEAST_FOR));
+        assertThat(secondInstance.tryLock("job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR)).isPresent();
+        assertThat(firstMeterRegistry.find("scheduler.lock.overrun").counter()).isNull();
+    }
+
+    @Test
+    void testExpiredLockIsTakenOverAndReportedOnRelease() {
+        Lock lock = firstInstance.tryLock("job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR).get();
+
+        secondClock.setInstant(NOW.plus(LOCK_AT_MOST_FOR));
+        assertThat(secondInstance.tryLock("job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR)).isPresent();
+        firstClock.setInstant(NOW.plus(LOCK_AT_MOST_FOR).plusSeconds(1));
+        firstInstance.unlock(lock);
+
+        assertThat(firstMeterRegistry.get("scheduler.lock.overrun").tag("lock", "job").counter().count()).isEqualTo(1);
+        assertThat(schedulerLockRepository.findById("job").get().getLockedBy()).isEqualTo("instance-2");
+    }
+
+    @Test
+    void testLockHeldTooLongIsReportedOnce() {
+        Lock lock = firstInstance.tryLock("job", LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR).get();
+        firstInstance.detectOverruns();
+        assertThat(firstMeterRegistry.find("scheduler.lock.overrun").counter()).isNull();
+
+        firstClock.setInstant(NOW.plus(LOCK_AT_MOST_FOR).plusSeconds(1));
+        firstInstance.detectOverruns();
+        firstInstance.detectOverruns();
+        firstInstance.unlock(lock);
+
+        assertThat(firstMeterRegistry.get("scheduler.lock.overrun").tag("lock", "job").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testClusterSingletonJobRunsOnOneInstance() {
+        Job job = new Job();
+        Job firstJob = proxy(job, firstInstance, firstMeterRegistry);
+        Job secondJob = proxy(job, secondInstance, secondMeterRegistry);
+
+        firstJob.run();
+        secondJob.run();
+
+        assertThat(job.runs).hasValue(1);
+        assertThat(firstMeterRegistry.get("scheduler.job.duration").tag("job", "Job.run").tag("result", "success").timer().count())
+            .isEqualTo(1);
+        assertThat(secondMeterRegistry.get("scheduler.job.skipped").tag("job", "Job.run").counter().count()).isEqualTo(1);
+    }
+
+    private SchedulerLockService createSchedulerLockService(String instanceId, MeterRegistry meterRegistry, MutableClock clock) {
+        return new SchedulerLockService(schedulerLockRepository, transactionManager, meterRegistry, clock, instanceId);
+    }
+
+    private static Job proxy(Job job, SchedulerLockService schedulerLockService, MeterRegistry meterRegistry) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(job);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ClusterSingletonAspect(schedulerLockService, new ApplicationProperties(), meterRegistry));
+        return proxyFactory.getProxy();
+    }
+
+    static class Job {
+
+        private final AtomicInteger runs = new AtomicInteger();
+
+        @ClusterSingleton
+        public void run() {
+            runs.incrementAndGet();
+        }
+    }
+}
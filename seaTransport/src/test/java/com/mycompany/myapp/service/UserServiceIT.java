@@ -4,10 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.AuthorityRepository;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -50,9 +54,18 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @MockBean
     private DateTimeProvider dateTimeProvider;
 
@@ -182,4 +195,30 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersAreDeletedByChunks() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        for (int i = 0; i < 5; i++) {
+            User staleUser = new User();
+            staleUser.setLogin("stale-user-" + i);
+            staleUser.setEmail("stale-user-" + i + "@localhost");
+            staleUser.setPassword(RandomStringUtils.random(60));
+            staleUser.setActivated(false);
+            staleUser.setActivationKey(RandomStringUtils.random(20));
+            authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(staleUser.getAuthorities()::add);
+            userRepository.saveAndFlush(staleUser);
+        }
+        double removedBefore = meterRegistry.get("users.not.activated.removed").counter().count();
+        assertThat(applicationProperties.getUserCleanup().getChunkSize()).isLessThan(5);
+
+        userService.removeNotActivatedUsers();
+
+        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+        assertThat(userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo)).isEmpty();
+        assertThat(userRepository.findOneByLogin("stale-user-0")).isEmpty();
+        assertThat(meterRegistry.get("users.not.activated.removed").counter().count()).isEqualTo(removedBefore + 5);
+    }
 }
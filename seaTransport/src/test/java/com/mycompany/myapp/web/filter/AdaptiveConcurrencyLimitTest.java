@@ -0,0 +1,149 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private ApplicationProperties.ConcurrencyLimit properties;
+
+    private MeterRegistry meterRegistry;
+
+    private AdaptiveConcurrencyLimit limit;
+
+    private long now;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ApplicationProperties.ConcurrencyLimit();
+        properties.setWindowMs(TimeUnit.NANOSECONDS.toMillis(WINDOW));
+        meterRegistry = new SimpleMeterRegistry();
+        limit = new AdaptiveConcurrencyLimit("read", properties, meterRegistry);
+        now = System.nanoTime();
+    }
+
+    @Test
+    void testRequestsBeyondTheLimitAreShed() {
+        for (int i = 0; i < properties.getInitialLimit(); i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(properties.getInitialLimit());
+        assertThat(meterRegistry.get("http.server.requests.shed").tag("group", "read").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsStableAndTheLimitIsUsed() {
+        runWindows(20, FAST);
+
+        assertThat(limit.getLimit()).isGreaterThan(properties.getInitialLimit());
+        assertThat(meterRegistry.get("http.server.requests.concurrency.limit").tag("group", "read").gauge().value())
+            .isEqualTo(limit.getLimit());
+    }
+
+    @Test
+    void testLimitDoesNotGrowWhenUnused() {
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, now += WINDOW);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(properties.getInitialLimit());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        runWindows(5, FAST);
+        int stableLimit = limit.getLimit();
+
+        runWindows(5, SLOW);
+
+        assertThat(limit.getLimit()).isLessThan(stableLimit).isGreaterThanOrEqualTo(properties.getMinLimit());
+    }
+
+    @Test
+    void testRequestsAreGroupedByKind() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+        MockHttpServletRequest bulkRead = new MockHttpServletRequest("GET", "/api/orders");
+        bulkRead.addParameter("size", "1000");
+        AdaptiveConcurrencyLimit read = filter.limitOf(new MockHttpServletRequest("GET", "/api/orders"));
+        AdaptiveConcurrencyLimit write = filter.limitOf(new MockHttpServletRequest("POST", "/api/orders"));
+        AdaptiveConcurrencyLimit bulk = filter.limitOf(bulkRead);
+        AdaptiveConcurrencyLimit authentication = filter.limitOf(new MockHttpServletRequest("POST", "/api/authenticate"));
+
+        assertThat(Arrays.asList(read, write, bulk, authentication)).doesNotHaveDuplicates();
+        assertThat(filter.limitOf(new MockHttpServletRequest("DELETE", "/api/orders/1"))).isSameAs(write);
+
+        // A full limit does not shed the requests of the other groups
+        while (write.tryAcquire()) {}
+        assertThat(read.tryAcquire()).isTrue();
+        assertThat(bulk.tryAcquire()).isTrue();
+        assertThat(authentication.tryAcquire()).isTrue();
+        assertThat(meterRegistry.get("http.server.requests.shed").tag("group", ConcurrencyLimitFilter.WRITE).counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.shed").tag("group", ConcurrencyLimitFilter.BULK).counter().count())
+            .isZero();
+    }
+
+    @Test
+    void testFilterRejectsRequestsBeyondTheLimitOfTheirGroup() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/orders");
+        AdaptiveConcurrencyLimit writeLimit = filter.limitOf(write);
+        while (writeLimit.tryAcquire()) {}
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+        filter.doFilter(write, rejected, rejectedChain);
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        assertThat(rejected.getContentAsString()).contains("Service Unavailable");
+        assertThat(rejectedChain.getRequest()).isNull();
+
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        MockFilterChain admittedChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), admitted, admittedChain);
+
+        assertThat(admitted.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(admittedChain.getRequest()).isNotNull();
+        assertThat(filter.limitOf(new MockHttpServletRequest("GET", "/api/orders")).getInFlight()).isZero();
+    }
+
+    /**
+     * Fill the limit, then complete every request with the given latency, the last completion closing the window.
+     */
+    private void runWindows(int windows, long rtt) {
+        for (int window = 0; window < windows; window++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 1; i < acquired; i++) {
+                limit.release(rtt, now);
+            }
+            limit.release(rtt, now += WINDOW);
+        }
+    }
+}
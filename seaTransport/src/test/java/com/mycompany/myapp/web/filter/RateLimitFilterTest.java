@@ -0,0 +1,158 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class RateLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private RateLimitFilter rateLimitFilter;
+
+    private AtomicInteger servletCalls;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties.RateLimit properties = new ApplicationProperties.RateLimit();
+        properties.setRules(Arrays.asList(rule("/api/orders/**", 0.001, 3), rule("/api/authenticate", 0.001, 1)));
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(properties, meterRegistry));
+        servletCalls = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRequestsBeyondTheBurstAreRejected() throws Exception {
+        authenticate("user");
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform("/api/orders").getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        MockHttpServletResponse response = perform("/api/orders/1");
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(response.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+        assertThat(servletCalls).hasValue(3);
+        assertThat(
+            meterRegistry
+                .get("http.server.requests.rate.limit")
+                .tags("rule", "/api/orders/**", "result", "rejected")
+                .counter()
+                .count()
+        )
+            .isEqualTo(1);
+        assertThat(
+            meterRegistry.get("http.server.requests.rate.limit").tags("rule", "/api/orders/**", "result", "allowed").counter().count()
+        )
+            .isEqualTo(3);
+    }
+
+    @Test
+    void testRulesWithoutAPositiveRateAreRejected() {
+        for (double permitsPerSecond : new double[] { 0, -1, Double.NaN }) {
+            ApplicationProperties.RateLimit properties = new ApplicationProperties.RateLimit();
+            properties.setRules(Collections.singletonList(rule("/api/orders/**", permitsPerSecond, 1)));
+
+            assertThatThrownBy(() -> new RateLimiter(properties, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("/api/orders/**");
+        }
+    }
+
+    @Test
+    void testUsersHaveTheirOwnBuckets() throws Exception {
+        authenticate("user");
+        for (int i = 0; i < 3; i++) {
+            perform("/api/orders", "10.0.0." + i);
+        }
+
+        assertThat(perform("/api/orders", "10.0.0.3").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        authenticate("admin");
+        assertThat(perform("/api/orders", "10.0.0.3").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void testUsersAreAlsoLimitedPerIpAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            authenticate("user-" + i);
+            assertThat(perform("/api/orders").getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+        authenticate("user-3");
+
+        assertThat(perform("/api/orders").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(perform("/api/orders", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void testAnonymousRequestsAreLimitedPerIpAddress() throws Exception {
+        assertThat(perform("/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform("/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(perform("/api/authenticate", "10.0.0.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void testOtherPathsAreNotLimited() throws Exception {
+        authenticate("user");
+        for (int i = 0; i < 10; i++) {
+            perform("/api/statuses");
+            perform("/api/ordersummary");
+        }
+
+        assertThat(servletCalls).hasValue(20);
+    }
+
+    private static ApplicationProperties.RateLimit.Rule rule(String pattern, double permitsPerSecond, int burst) {
+        ApplicationProperties.RateLimit.Rule rule = new ApplicationProperties.RateLimit.Rule();
+        rule.setPattern(pattern);
+        rule.setPermitsPerSecond(permitsPerSecond);
+        rule.setBurst(burst);
+        return rule;
+    }
+
+    private static void authenticate(String login) {
+        SecurityContextHolder
+            .getContext()
+            .setAuthentication(
+                new UsernamePasswordAuthenticationToken(login, "", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
+            );
+    }
+
+    private MockHttpServletResponse perform(String path) throws Exception {
+        return perform(path, "127.0.0.1");
+    }
+
+    private MockHttpServletResponse perform(String path, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(
+            request,
+            response,
+            (req, resp) -> {
+                servletCalls.incrementAndGet();
+            }
+        );
+        return response;
+    }
+}
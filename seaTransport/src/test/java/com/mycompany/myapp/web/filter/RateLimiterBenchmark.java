@@ -0,0 +1,79 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-request cost of the {@link RateLimiter}, which is expected to stay well under a microsecond, from one
+ * thread and from concurrent threads hitting the same bucket or their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setup() {
+        ApplicationProperties.RateLimit properties = new ApplicationProperties.RateLimit();
+        properties.setRules(
+            Arrays.asList(rule("/api/authenticate", 1), rule("/api/orders/**", 1_000_000_000), rule("/api/**", 1_000_000_000))
+        );
+        rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private final String login = "user-" + Thread.currentThread().getId();
+
+        private final String address = "10.0.0." + Thread.currentThread().getId() % 256;
+    }
+
+    @Benchmark
+    public long prefixRule() {
+        return rateLimiter.acquire("/api/orders/1", "user", "10.0.0.1");
+    }
+
+    @Benchmark
+    public long unmatchedPath() {
+        return rateLimiter.acquire("/management/health", "user", "10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long sharedBucket() {
+        return rateLimiter.acquire("/api/orders", "user", "10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long bucketPerThread(Client client) {
+        return rateLimiter.acquire("/api/orders", client.login, client.address);
+    }
+
+    private static ApplicationProperties.RateLimit.Rule rule(String pattern, double permitsPerSecond) {
+        ApplicationProperties.RateLimit.Rule rule = new ApplicationProperties.RateLimit.Rule();
+        rule.setPattern(pattern);
+        rule.setPermitsPerSecond(permitsPerSecond);
+        rule.setBurst(1000);
+        return rule;
+    }
+}
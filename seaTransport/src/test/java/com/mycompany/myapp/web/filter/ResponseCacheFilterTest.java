@@ -0,0 +1,128 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.ResponseCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":1,\"statusName\":\"LOADED\"}]";
+
+    private MeterRegistry meterRegistry;
+
+    private ResponseCacheService responseCacheService;
+
+    private ResponseCacheFilter responseCacheFilter;
+
+    private AtomicInteger servletCalls;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        responseCacheService = new ResponseCacheService(applicationProperties, meterRegistry);
+        responseCacheFilter =
+            new ResponseCacheFilter(responseCacheService, Collections.singletonMap("/api/statuses", ResponseCacheService.STATUSES));
+        servletCalls = new AtomicInteger();
+        SecurityContextHolder
+            .getContext()
+            .setAuthentication(
+                new UsernamePasswordAuthenticationToken("user", "", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
+            );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testSecondIdenticalRequestIsServedFromCache() throws Exception {
+        MockHttpServletResponse first = perform(get("page=0&size=20"));
+        MockHttpServletResponse second = perform(get("size=20&page=0"));
+
+        assertThat(servletCalls).hasValue(1);
+        assertThat(second.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getHeader("X-Total-Count")).isEqualTo("1");
+        assertThat(second.getContentType()).isEqualTo(first.getContentType());
+        assertThat(meterRegistry.get("http.response.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.response.cache.served").counter().count())
+            .isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void testInvalidationEvictsTheRegion() throws Exception {
+        perform(get("page=0"));
+        responseCacheService.invalidate(ResponseCacheService.STATUSES);
+        perform(get("page=0"));
+
+        assertThat(servletCalls).hasValue(2);
+    }
+
+    @Test
+    void testUsersWithOtherAuthoritiesAreNotServedTheSameEntry() throws Exception {
+        perform(get("page=0"));
+        SecurityContextHolder
+            .getContext()
+            .setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", "", Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")))
+            );
+        perform(get("page=0"));
+
+        assertThat(servletCalls).hasValue(2);
+    }
+
+    @Test
+    void testOtherPathsAreNotCached() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers");
+        perform(request);
+        perform(request);
+
+        assertThat(servletCalls).hasValue(2);
+    }
+
+    private MockHttpServletRequest get(String queryString) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/statuses");
+        request.setQueryString(queryString);
+        for (String parameter : queryString.split("&")) {
+            String[] nameAndValue = parameter.split("=");
+            request.addParameter(nameAndValue[0], nameAndValue[1]);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                servletCalls.incrementAndGet();
+                resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                resp.setHeader("X-Total-Count", "1");
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        responseCacheFilter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
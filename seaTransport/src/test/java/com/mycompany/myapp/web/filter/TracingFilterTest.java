@@ -0,0 +1,110 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.tracing.Span;
+import com.mycompany.myapp.config.tracing.Trace;
+import com.mycompany.myapp.config.tracing.TraceStore;
+import com.mycompany.myapp.config.tracing.Tracer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class TracingFilterTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private TraceStore traceStore;
+
+    private Tracer tracer;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        traceStore = new TraceStore(applicationProperties, new ObjectMapper());
+        tracer = new Tracer(applicationProperties, traceStore);
+    }
+
+    @Test
+    void testRequestIsTracedUnderTheUriTemplateOfItsEndpoint() throws Exception {
+        AtomicBoolean tracedInChain = new AtomicBoolean();
+
+        new TracingFilter(tracer)
+            .doFilter(
+                new MockHttpServletRequest("GET", "/api/ports/1"),
+                new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest request, ServletResponse response) {
+                        tracedInChain.set(tracer.isTracing());
+                        tracer.endSpan(tracer.startSpan(Span.SERVICE, "PortService.findOne"));
+                        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/ports/{id}");
+                        ((HttpServletResponse) response).setStatus(404);
+                    }
+                }
+            );
+
+        assertThat(tracedInChain).isTrue();
+        assertThat(tracer.isTracing()).isFalse();
+        List<Trace> traces = traceStore.getSlowestTraces(0, 10);
+        assertThat(traces).hasSize(1);
+        assertThat(traces.get(0).getName()).isEqualTo("GET /api/ports/{id}");
+        assertThat(traces.get(0).getStatus()).isEqualTo(404);
+        assertThat(traces.get(0).getSpans()).extracting(Span::getKind).containsExactly(Span.REQUEST, Span.SERVICE);
+    }
+
+    @Test
+    void testTraceEndsWhenTheRequestFails() {
+        assertThatThrownBy(
+                () ->
+                    new TracingFilter(tracer)
+                        .doFilter(
+                            new MockHttpServletRequest("POST", "/api/orders"),
+                            new MockHttpServletResponse(),
+                            new MockFilterChain() {
+                                @Override
+                                public void doFilter(ServletRequest request, ServletResponse response) {
+                                    throw new IllegalStateException("failed");
+                                }
+                            }
+                        )
+            )
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(tracer.isTracing()).isFalse();
+        assertThat(traceStore.getSlowestTraces(0, 10)).extracting(Trace::getName).containsExactly("POST /api/orders");
+    }
+
+    @Test
+    void testUnsampledRequestsAreNotTraced() throws Exception {
+        applicationProperties.getTracing().setSampleOneIn(Integer.MAX_VALUE);
+        tracer = new Tracer(applicationProperties, traceStore);
+        AtomicBoolean tracedInChain = new AtomicBoolean();
+
+        new TracingFilter(tracer)
+            .doFilter(
+                new MockHttpServletRequest("GET", "/api/ports"),
+                new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest request, ServletResponse response) {
+                        tracedInChain.set(tracer.isTracing());
+                    }
+                }
+            );
+
+        assertThat(tracedInChain).isFalse();
+        assertThat(traceStore.getSlowestTraces(0, 10)).isEmpty();
+    }
+}
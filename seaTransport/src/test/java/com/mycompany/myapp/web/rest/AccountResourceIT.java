@@ -108,6 +108,31 @@ class AccountResourceIT {
             .andExpect(jsonPath("$.authorities").value(AuthoritiesConstants.ADMIN));
     }
 
+    @Test
+    @WithMockUser("account-cache")
+    void testGetAccountIsEvictedOnUpdate() throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin("account-cache");
+        user.setFirstName("john");
+        user.setEmail("account-cache@example.com");
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        userService.createUser(user);
+
+        restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.firstName").value("john"));
+        restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.firstName").value("john"));
+
+        user.setFirstName("jane");
+        restAccountMockMvc
+            .perform(post("/api/account").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(user)))
+            .andExpect(status().isOk());
+        restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.firstName").value("jane"));
+
+        userService.deleteUser("account-cache");
+        restAccountMockMvc
+            .perform(get("/api/account").accept(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(status().isInternalServerError());
+    }
+
     @Test
     void testGetUnknownAccount() throws Exception {
         restAccountMockMvc
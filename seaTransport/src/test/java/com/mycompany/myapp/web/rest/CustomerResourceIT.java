@@ -504,4 +504,36 @@ class CustomerResourceIT {
         List<Customer> customerList = customerRepository.findAll();
         assertThat(customerList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void createCustomerWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertCreateWithinBudget(restCustomerMockMvc, em, ENTITY_API_URL, customer);
+    }
+
+    @Test
+    @Transactional
+    void getUpdateAndDeleteCustomerWithinStatementBudget() throws Exception {
+        // Initialize the database
+        customerRepository.saveAndFlush(customer);
+        Customer updatedCustomer = createUpdatedEntity(em);
+        updatedCustomer.setId(customer.getId());
+        Customer partialUpdatedCustomer = createEntity(em);
+        partialUpdatedCustomer.setId(customer.getId());
+
+        EntityStatementBudgets.assertGetUpdateAndDeleteWithinBudget(
+            restCustomerMockMvc,
+            em,
+            ENTITY_API_URL,
+            customer.getId(),
+            updatedCustomer,
+            partialUpdatedCustomer
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomersWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertGetAllWithinBudget(restCustomerMockMvc, em, ENTITY_API_URL, () -> createEntity(em));
+    }
 }
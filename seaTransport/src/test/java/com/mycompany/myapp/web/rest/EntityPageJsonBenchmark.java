@@ -0,0 +1,126 @@
+package com.mycompany.myapp.web.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.Customer;
+import com.mycompany.myapp.domain.Order;
+import com.mycompany.myapp.domain.OrderInfo;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Jackson serialization and deserialization of a page of orders, order infos and customers, as returned
+ * and accepted by their REST resources. The object mapper has the modules of
+ * {@link com.mycompany.myapp.config.JacksonConfiguration}, and writes dates as ISO strings as Spring Boot does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityPageJsonBenchmark {
+
+    private static final TypeReference<List<Order>> ORDERS = new TypeReference<>() {};
+
+    private static final TypeReference<List<OrderInfo>> ORDER_INFOS = new TypeReference<>() {};
+
+    private static final TypeReference<List<Customer>> CUSTOMERS = new TypeReference<>() {};
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<Order> orders;
+
+    private List<OrderInfo> orderInfos;
+
+    private List<Customer> customers;
+
+    private byte[] ordersJson;
+
+    private byte[] orderInfosJson;
+
+    private byte[] customersJson;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper =
+            new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jdk8Module())
+                .registerModule(new Hibernate5Module())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        orders = new ArrayList<>();
+        orderInfos = new ArrayList<>();
+        customers = new ArrayList<>();
+        LocalDate loading = LocalDate.of(2026, 10, 1);
+        for (int i = 0; i < pageSize; i++) {
+            Order order = new Order().customer(i).port(i % 10).dateOfLoading(loading).dateOfShipment(loading.plusDays(i)).status(1);
+            order.setId((long) i);
+            orders.add(order.transport(i % 5));
+            OrderInfo orderInfo = new OrderInfo().order(i).length(120).width(80).height(60).volume(576).weight(1500);
+            orderInfo.setId((long) i);
+            orderInfos.add(orderInfo);
+            Customer customer = new Customer()
+                .organizationName("Organization " + i)
+                .contactPerson("Contact " + i)
+                .country("Norway")
+                .contactPhone("+47 555 " + i)
+                .email("contact" + i + "@example.com");
+            customer.setId((long) i);
+            customers.add(customer);
+        }
+        ordersJson = objectMapper.writeValueAsBytes(orders);
+        orderInfosJson = objectMapper.writeValueAsBytes(orderInfos);
+        customersJson = objectMapper.writeValueAsBytes(customers);
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws Exception {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderInfos() throws Exception {
+        return objectMapper.writeValueAsBytes(orderInfos);
+    }
+
+    @Benchmark
+    public byte[] serializeCustomers() throws Exception {
+        return objectMapper.writeValueAsBytes(customers);
+    }
+
+    @Benchmark
+    public List<Order> deserializeOrders() throws Exception {
+        return objectMapper.readValue(ordersJson, ORDERS);
+    }
+
+    @Benchmark
+    public List<OrderInfo> deserializeOrderInfos() throws Exception {
+        return objectMapper.readValue(orderInfosJson, ORDER_INFOS);
+    }
+
+    @Benchmark
+    public List<Customer> deserializeCustomers() throws Exception {
+        return objectMapper.readValue(customersJson, CUSTOMERS);
+    }
+}
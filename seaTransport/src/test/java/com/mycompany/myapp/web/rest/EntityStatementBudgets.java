@@ -0,0 +1,120 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.mycompany.myapp.SqlStatementCounter;
+import java.util.function.Supplier;
+import javax.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Assertions of the SQL statement budgets of the REST endpoints of an entity, counted by {@link SqlStatementCounter}.
+ * <p>
+ * The persistence context is cleared before each call, so that entities are not found in the first-level cache, and
+ * flushed after it, so that the statements are counted as they would run at commit.
+ * <p>
+ * The entities checked here have no association, so the list budget only guards the page query and its count, for
+ * instance against an association added later and loaded eagerly. The loading of an association over a page is
+ * checked with the authorities of the users, in {@link UserResourceIT}.
+ */
+public final class EntityStatementBudgets {
+
+    private static final int[] PAGE_SIZES = { 100, 1000 };
+
+    private EntityStatementBudgets() {}
+
+    /**
+     * Assert that creating an entity costs its insert, besides an occasional call to the id sequence.
+     */
+    public static void assertCreateWithinBudget(MockMvc mockMvc, EntityManager em, String entityApiUrl, Object entity) throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc
+            .perform(post(entityApiUrl).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(entity)))
+            .andExpect(status().isCreated());
+        em.flush();
+
+        SqlStatementCounter.assertStatementBudget(0, 1, 0, 0);
+    }
+
+    /**
+     * Assert the budgets of getting, updating, partially updating and deleting an entity already in the database.
+     *
+     * @param id the id of the entity.
+     * @param updatedEntity the entity to put, with the same id.
+     * @param partialUpdatedEntity the entity to patch, with the same id.
+     */
+    public static void assertGetUpdateAndDeleteWithinBudget(
+        MockMvc mockMvc,
+        EntityManager em,
+        String entityApiUrl,
+        Object id,
+        Object updatedEntity,
+        Object partialUpdatedEntity
+    ) throws Exception {
+        String entityApiUrlId = entityApiUrl + "/{id}";
+        em.flush();
+        em.clear();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(entityApiUrlId, id)).andExpect(status().isOk());
+        SqlStatementCounter.assertStatementBudget(1, 0, 0, 0);
+        em.clear();
+
+        SqlStatementCounter.reset();
+        mockMvc
+            .perform(
+                put(entityApiUrlId, id).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(updatedEntity))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+        // The existence check, then the merge loads the entity before updating it
+        SqlStatementCounter.assertStatementBudget(2, 0, 1, 0);
+        em.clear();
+
+        SqlStatementCounter.reset();
+        mockMvc
+            .perform(
+                patch(entityApiUrlId, id)
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedEntity))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+        // The existence check, then the entity is loaded and updated
+        SqlStatementCounter.assertStatementBudget(2, 0, 1, 0);
+        em.clear();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(delete(entityApiUrlId, id).accept(MediaType.APPLICATION_JSON)).andExpect(status().isNoContent());
+        em.flush();
+        // The entity is loaded before being deleted
+        SqlStatementCounter.assertStatementBudget(1, 0, 0, 1);
+    }
+
+    /**
+     * Assert that listing pages of entities costs the page query and its count, whatever the page size.
+     *
+     * @param entityFactory creates the entities to persist, more than the largest page.
+     */
+    public static void assertGetAllWithinBudget(MockMvc mockMvc, EntityManager em, String entityApiUrl, Supplier<?> entityFactory)
+        throws Exception {
+        int largestPage = PAGE_SIZES[PAGE_SIZES.length - 1];
+        for (int i = 0; i < largestPage; i++) {
+            em.persist(entityFactory.get());
+        }
+        em.flush();
+        em.clear();
+
+        for (int size : PAGE_SIZES) {
+            SqlStatementCounter.reset();
+            mockMvc
+                .perform(get(entityApiUrl + "?sort=id,desc&size=" + size))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(size));
+            SqlStatementCounter.assertStatementBudget(2, 0, 0, 0);
+            em.clear();
+        }
+    }
+}
@@ -536,4 +536,36 @@ class OrderInfoResourceIT {
         List<OrderInfo> orderInfoList = orderInfoRepository.findAll();
         assertThat(orderInfoList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void createOrderInfoWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertCreateWithinBudget(restOrderInfoMockMvc, em, ENTITY_API_URL, orderInfo);
+    }
+
+    @Test
+    @Transactional
+    void getUpdateAndDeleteOrderInfoWithinStatementBudget() throws Exception {
+        // Initialize the database
+        orderInfoRepository.saveAndFlush(orderInfo);
+        OrderInfo updatedOrderInfo = createUpdatedEntity(em);
+        updatedOrderInfo.setId(orderInfo.getId());
+        OrderInfo partialUpdatedOrderInfo = createEntity(em);
+        partialUpdatedOrderInfo.setId(orderInfo.getId());
+
+        EntityStatementBudgets.assertGetUpdateAndDeleteWithinBudget(
+            restOrderInfoMockMvc,
+            em,
+            ENTITY_API_URL,
+            orderInfo.getId(),
+            updatedOrderInfo,
+            partialUpdatedOrderInfo
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllOrderInfosWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertGetAllWithinBudget(restOrderInfoMockMvc, em, ENTITY_API_URL, () -> createEntity(em));
+    }
 }
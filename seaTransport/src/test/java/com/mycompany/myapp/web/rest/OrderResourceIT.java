@@ -506,4 +506,36 @@ class OrderResourceIT {
         List<Order> orderList = orderRepository.findAll();
         assertThat(orderList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void createOrderWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertCreateWithinBudget(restOrderMockMvc, em, ENTITY_API_URL, order);
+    }
+
+    @Test
+    @Transactional
+    void getUpdateAndDeleteOrderWithinStatementBudget() throws Exception {
+        // Initialize the database
+        orderRepository.saveAndFlush(order);
+        Order updatedOrder = createUpdatedEntity(em);
+        updatedOrder.setId(order.getId());
+        Order partialUpdatedOrder = createEntity(em);
+        partialUpdatedOrder.setId(order.getId());
+
+        EntityStatementBudgets.assertGetUpdateAndDeleteWithinBudget(
+            restOrderMockMvc,
+            em,
+            ENTITY_API_URL,
+            order.getId(),
+            updatedOrder,
+            partialUpdatedOrder
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllOrdersWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertGetAllWithinBudget(restOrderMockMvc, em, ENTITY_API_URL, () -> createEntity(em));
+    }
 }
@@ -0,0 +1,49 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.domain.Order;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Measures the generation of the {@code Link} and {@code X-Total-Count} headers of a paginated list, as done by the
+ * {@code getAll*} methods of the REST resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationHeadersBenchmark {
+
+    private UriComponentsBuilder uriBuilder;
+
+    private Page<Order> page;
+
+    @Setup
+    public void setup() {
+        uriBuilder = UriComponentsBuilder.fromHttpUrl("http://localhost:8080/api/orders?page=3&size=20&sort=id,asc");
+        page = new PageImpl<>(Collections.nCopies(20, new Order()), PageRequest.of(3, 20), 10_000);
+    }
+
+    @Benchmark
+    public HttpHeaders generatePaginationHttpHeaders() {
+        return PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+    }
+}
@@ -472,4 +472,36 @@ class PortResourceIT {
         List<Port> portList = portRepository.findAll();
         assertThat(portList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void createPortWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertCreateWithinBudget(restPortMockMvc, em, ENTITY_API_URL, port);
+    }
+
+    @Test
+    @Transactional
+    void getUpdateAndDeletePortWithinStatementBudget() throws Exception {
+        // Initialize the database
+        portRepository.saveAndFlush(port);
+        Port updatedPort = createUpdatedEntity(em);
+        updatedPort.setId(port.getId());
+        Port partialUpdatedPort = createEntity(em);
+        partialUpdatedPort.setId(port.getId());
+
+        EntityStatementBudgets.assertGetUpdateAndDeleteWithinBudget(
+            restPortMockMvc,
+            em,
+            ENTITY_API_URL,
+            port.getId(),
+            updatedPort,
+            partialUpdatedPort
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllPortsWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertGetAllWithinBudget(restPortMockMvc, em, ENTITY_API_URL, () -> createEntity(em));
+    }
 }
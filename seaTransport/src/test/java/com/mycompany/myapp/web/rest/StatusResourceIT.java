@@ -406,4 +406,42 @@ class StatusResourceIT {
         List<Status> statusList = statusRepository.findAll();
         assertThat(statusList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void createStatusWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertCreateWithinBudget(restStatusMockMvc, em, ENTITY_API_URL, status);
+    }
+
+    @Test
+    @Transactional
+    void getUpdateAndDeleteStatusWithinStatementBudget() throws Exception {
+        // Initialize the database
+        statusRepository.saveAndFlush(status);
+        Status updatedStatus = createUpdatedEntity(em);
+        updatedStatus.setId(status.getId());
+        Status partialUpdatedStatus = createEntity(em);
+        partialUpdatedStatus.setId(status.getId());
+
+        EntityStatementBudgets.assertGetUpdateAndDeleteWithinBudget(
+            restStatusMockMvc,
+            em,
+            ENTITY_API_URL,
+            status.getId(),
+            updatedStatus,
+            partialUpdatedStatus
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllStatusesWithinStatementBudget() throws Exception {
+        // The status names are unique
+        EntityStatementBudgets.assertGetAllWithinBudget(
+            restStatusMockMvc,
+            em,
+            ENTITY_API_URL,
+            () -> createEntity(em).statusName("STATUS-" + count.incrementAndGet())
+        );
+    }
 }
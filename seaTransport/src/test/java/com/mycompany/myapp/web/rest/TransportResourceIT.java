@@ -476,4 +476,36 @@ class TransportResourceIT {
         List<Transport> transportList = transportRepository.findAll();
         assertThat(transportList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void createTransportWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertCreateWithinBudget(restTransportMockMvc, em, ENTITY_API_URL, transport);
+    }
+
+    @Test
+    @Transactional
+    void getUpdateAndDeleteTransportWithinStatementBudget() throws Exception {
+        // Initialize the database
+        transportRepository.saveAndFlush(transport);
+        Transport updatedTransport = createUpdatedEntity(em);
+        updatedTransport.setId(transport.getId());
+        Transport partialUpdatedTransport = createEntity(em);
+        partialUpdatedTransport.setId(transport.getId());
+
+        EntityStatementBudgets.assertGetUpdateAndDeleteWithinBudget(
+            restTransportMockMvc,
+            em,
+            ENTITY_API_URL,
+            transport.getId(),
+            updatedTransport,
+            partialUpdatedTransport
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllTransportsWithinStatementBudget() throws Exception {
+        EntityStatementBudgets.assertGetAllWithinBudget(restTransportMockMvc, em, ENTITY_API_URL, () -> createEntity(em));
+    }
 }
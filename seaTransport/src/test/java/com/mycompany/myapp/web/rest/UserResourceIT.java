@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.SqlStatementCounter;
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
@@ -261,6 +262,30 @@ class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    @Transactional
+    void getAllUsersLoadsAuthoritiesWithoutExtraQueries() throws Exception {
+        // Initialize the database with more users than the batch size of the authorities collection
+        Authority authority = em.find(Authority.class, AuthoritiesConstants.USER);
+        for (int i = 0; i < 200; i++) {
+            User pagedUser = createEntity(em);
+            pagedUser.getAuthorities().add(authority);
+            em.persist(pagedUser);
+        }
+        em.flush();
+        em.clear();
+
+        SqlStatementCounter.reset();
+
+        restUserMockMvc
+            .perform(get("/api/admin/users?sort=id,desc&size=1000").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].authorities").value(hasItem(Collections.singletonList(AuthoritiesConstants.USER))));
+
+        // Counted on the test thread only: the page of ids, its count and the users with their authorities
+        SqlStatementCounter.assertStatementBudget(3, 0, 0, 0);
+    }
+
     @Test
     @Transactional
     void getUser() throws Exception {
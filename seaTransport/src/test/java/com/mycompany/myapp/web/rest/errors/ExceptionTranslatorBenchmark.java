@@ -0,0 +1,69 @@
+package com.mycompany.myapp.web.rest.errors;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.zalando.problem.Problem;
+
+/**
+ * Measures the construction of the problem returned by {@link ExceptionTranslator} for a bad request, a concurrency
+ * failure and an unexpected exception, including the post-processing that adds the message key and path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionTranslatorBenchmark {
+
+    private ExceptionTranslator exceptionTranslator;
+
+    private NativeWebRequest request;
+
+    private BadRequestAlertException badRequestAlertException;
+
+    private ConcurrencyFailureException concurrencyFailureException;
+
+    private RuntimeException runtimeException;
+
+    @Setup
+    public void setup() {
+        exceptionTranslator = new ExceptionTranslator(new MockEnvironment());
+        ReflectionTestUtils.setField(exceptionTranslator, "applicationName", "seaTransportApp");
+        request = new ServletWebRequest(new MockHttpServletRequest("PUT", "/api/orders/1"));
+        badRequestAlertException = new BadRequestAlertException("Invalid id", "order", "idnull");
+        concurrencyFailureException = new ConcurrencyFailureException("Row was updated by another transaction");
+        runtimeException = new RuntimeException("Unexpected");
+    }
+
+    @Benchmark
+    public ResponseEntity<Problem> badRequestAlert() {
+        return exceptionTranslator.handleBadRequestAlertException(badRequestAlertException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Problem> concurrencyFailure() {
+        return exceptionTranslator.handleConcurrencyFailure(concurrencyFailureException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Problem> unexpectedException() {
+        return exceptionTranslator.handleThrowable(runtimeException, request);
+    }
+}